@@ -0,0 +1,14 @@
+-- Trigram index backing GET /api/v1/expenses/search.
+-- Run once per database, outside the application and outside a transaction, e.g.
+--   psql -d expense_manager -f db/migrations/001_search_trigram_index.sql
+-- CONCURRENTLY builds the index without blocking writes to expenses; psql autocommits each statement,
+-- which CONCURRENTLY requires. If a build is interrupted it leaves an INVALID index behind: drop it and rerun.
+-- The indexed expression must stay identical to the one in ExpenseRepository.searchByText.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_expense_search_trgm
+    ON expenses USING gist ((vendor_name || E'\n' || COALESCE(description, '')) gist_trgm_ops);
+
+-- GIN indexes created at startup by earlier versions; the GiST index above replaces them
+DROP INDEX CONCURRENTLY IF EXISTS idx_expense_vendor_trgm;
+DROP INDEX CONCURRENTLY IF EXISTS idx_expense_description_trgm;
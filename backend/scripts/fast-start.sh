@@ -0,0 +1,19 @@
+#!/usr/bin/env bash
+# Starts the backend from a fast-start build (mvn -Pfast-start package) with AOT and the AppCDS archive.
+# Extra JVM options go in JAVA_OPTS, e.g. JAVA_OPTS="-XX:TieredStopAtLevel=1" for short-lived instances
+# (faster warmup, but C1-only code is much slower under sustained load).
+set -euo pipefail
+cd "$(dirname "$0")/../target/fast-start"
+
+if [[ ! -f app-cds.jsa ]]; then
+  echo "target/fast-start/app-cds.jsa not found; build with: mvn -Pfast-start package" >&2
+  exit 1
+fi
+
+# shellcheck disable=SC2086
+exec java ${JAVA_OPTS:-} \
+  -XX:SharedArchiveFile=app-cds.jsa \
+  -Dspring.aot.enabled=true \
+  -Dspring.profiles.active=fast-start \
+  -cp "mini-expense-manager-1.0.0.jar:lib/*" \
+  com.expensemanager.ExpenseManagerApplication "$@"
@@ -0,0 +1,47 @@
+#!/usr/bin/env bash
+# Measures time from process launch to the first successful API response.
+# Usage: scripts/measure-startup.sh [fast-start|regular] [runs]   (defaults: fast-start, 5 runs)
+# fast-start needs mvn -Pfast-start package, regular needs mvn package; both need a running database.
+# Both modes start the same way apart from the build, so their numbers can be compared directly.
+set -euo pipefail
+cd "$(dirname "$0")"
+
+MODE="${1:-fast-start}"
+RUNS="${2:-5}"
+URL="http://localhost:8080/api/v1/expenses/dashboard/anomalies/count"
+
+case "$MODE" in
+  fast-start) COMMAND=(./fast-start.sh) ;;
+  regular)
+    JAR=$(ls ../target/mini-expense-manager-*.jar 2>/dev/null | grep -v -- '-exec\.jar$' | head -n 1 || true)
+    if [[ -z "$JAR" ]]; then
+      echo "target/mini-expense-manager-*.jar not found; build with: mvn package" >&2
+      exit 1
+    fi
+    # shellcheck disable=SC2086
+    COMMAND=(java ${JAVA_OPTS:-} -jar "$JAR") ;;
+  *)
+    echo "Unknown mode '$MODE'; expected fast-start or regular" >&2
+    exit 1 ;;
+esac
+
+for run in $(seq 1 "$RUNS"); do
+  log="/tmp/expense-manager-startup-$MODE-$run.log"
+  start=$(date +%s%N)
+  "${COMMAND[@]}" > "$log" 2>&1 &
+  pid=$!
+
+  until curl -sf -o /dev/null "$URL"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "Run $run: backend exited; see $log" >&2
+      exit 1
+    fi
+    sleep 0.01
+  done
+
+  end=$(date +%s%N)
+  echo "Run $run ($MODE): first response after $(( (end - start) / 1000000 )) ms;" \
+       "$(grep -o 'ready in [0-9]* ms, JVM uptime [0-9]* ms' "$log" || echo 'no ready line')"
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+done
@@ -1,17 +1,18 @@
 package com.expensemanager.anomaly;
 
+import com.expensemanager.archive.SegmentArchiveService;
 import com.expensemanager.repository.ExpenseRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.util.Optional;
 
 /**
  * Encapsulates anomaly detection logic.
  * An expense is flagged as anomalous if its amount exceeds 3× the category average.
  * If it's the first expense in a category, it is never flagged as anomalous.
+ * The average covers both the live table and archived months.
  */
 @Slf4j
 @Service
@@ -21,6 +22,7 @@ public class AnomalyDetectionService {
     private static final BigDecimal ANOMALY_MULTIPLIER = BigDecimal.valueOf(3);
 
     private final ExpenseRepository expenseRepository;
+    private final SegmentArchiveService segmentArchiveService;
 
     /**
      * Determines whether the given amount is anomalous for the specified category.
@@ -30,14 +32,28 @@ public class AnomalyDetectionService {
      * @return true if the amount exceeds 3× the category average, false otherwise
      */
     public boolean isAnomaly(String category, BigDecimal amount) {
-        Optional<BigDecimal> avgOptional = expenseRepository.findAverageAmountByCategory(category);
+        return isAnomaly(category, getCategoryStats(category), amount);
+    }
 
-        if (avgOptional.isEmpty()) {
+    /**
+     * Returns the current baseline of a category across the live table and archived months.
+     */
+    public CategoryStats getCategoryStats(String category) {
+        return segmentArchiveService.read(archive ->
+                expenseRepository.findStatsByCategory(category).plus(archive.categoryStats(category)));
+    }
+
+    /**
+     * Same rule as {@link #isAnomaly(String, BigDecimal)} against a baseline the caller already holds,
+     * for batched writes that keep the baseline up to date themselves.
+     */
+    public boolean isAnomaly(String category, CategoryStats stats, BigDecimal amount) {
+        if (stats.isEmpty()) {
             log.debug("No existing expenses in category '{}'; not marking as anomaly.", category);
             return false;
         }
 
-        BigDecimal average = avgOptional.get();
+        BigDecimal average = stats.average();
         BigDecimal threshold = average.multiply(ANOMALY_MULTIPLIER);
         boolean anomaly = amount.compareTo(threshold) > 0;
 
@@ -0,0 +1,40 @@
+package com.expensemanager.anomaly;
+
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Count and sum of expense amounts in a category, the inputs of the category average.
+ * Kept as a sum rather than an average so stats from different sources can be combined exactly.
+ */
+@Getter
+public class CategoryStats {
+
+    public static final CategoryStats EMPTY = new CategoryStats(0L, BigDecimal.ZERO);
+
+    private final long count;
+    private final BigDecimal sum;
+
+    public CategoryStats(Long count, BigDecimal sum) {
+        this.count = count == null ? 0 : count;
+        this.sum = sum == null ? BigDecimal.ZERO : sum;
+    }
+
+    public CategoryStats plus(CategoryStats other) {
+        return new CategoryStats(count + other.count, sum.add(other.sum));
+    }
+
+    public CategoryStats plus(BigDecimal amount) {
+        return new CategoryStats(count + 1, sum.add(amount));
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public BigDecimal average() {
+        return sum.divide(BigDecimal.valueOf(count), 10, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,96 @@
+package com.expensemanager.archive;
+
+import com.expensemanager.anomaly.CategoryStats;
+import com.expensemanager.dto.response.CategoryTotalResponse;
+import com.expensemanager.dto.response.TopVendorResponse;
+import com.expensemanager.entity.Expense;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The segments of the months recorded in {@code archived_months}, as seen by one transaction
+ * (see {@link SegmentArchiveService#current()}). Sealing deletes a month's rows in the same transaction
+ * that records it, so combining this with live-table queries of that transaction counts every expense once.
+ */
+public final class ArchivedSegments {
+
+    private final List<ExpenseSegment> segments;
+
+    ArchivedSegments(List<ExpenseSegment> segments) {
+        this.segments = List.copyOf(segments);
+    }
+
+    public boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    public List<ExpenseSegment> segments() {
+        return segments;
+    }
+
+    /**
+     * Adds the archived category-month totals to the live ones, keeping the live query's ordering.
+     */
+    public List<CategoryTotalResponse> withMonthlyTotals(List<CategoryTotalResponse> live) {
+        if (segments.isEmpty()) return live;
+
+        Map<String, CategoryTotalResponse> merged = new LinkedHashMap<>();
+        for (CategoryTotalResponse total : live) {
+            merged.put(total.getYear() + "-" + total.getMonth() + "-" + total.getCategory(), total);
+        }
+        for (ExpenseSegment segment : segments) {
+            int year = segment.getMonth().getYear();
+            int month = segment.getMonth().getMonthValue();
+            segment.getCategoryTotals().forEach((category, stats) -> merged.merge(
+                    year + "-" + month + "-" + category,
+                    new CategoryTotalResponse(year, month, category, stats.getSum()),
+                    (a, b) -> new CategoryTotalResponse(year, month, category, a.getTotal().add(b.getTotal()))));
+        }
+        return merged.values().stream()
+                .sorted(Comparator.comparingInt(CategoryTotalResponse::getYear).reversed()
+                        .thenComparing(Comparator.comparingInt(CategoryTotalResponse::getMonth).reversed())
+                        .thenComparing(CategoryTotalResponse::getCategory))
+                .toList();
+    }
+
+    /**
+     * Combines per-vendor totals of the live table with the archived ones and returns the top {@code limit}.
+     */
+    public List<TopVendorResponse> topVendors(List<TopVendorResponse> liveTotals, int limit) {
+        Map<String, BigDecimal> totals = new HashMap<>();
+        liveTotals.forEach(vendor -> totals.merge(vendor.getVendorName(), vendor.getTotalSpend(), BigDecimal::add));
+        segments.forEach(segment -> segment.getVendorTotals().forEach((vendor, sum) -> totals.merge(vendor, sum, BigDecimal::add)));
+        return totals.entrySet().stream()
+                .sorted(Map.Entry.<String, BigDecimal>comparingByValue().reversed())
+                .limit(limit)
+                .map(entry -> new TopVendorResponse(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    public List<Expense> anomalies() {
+        List<Expense> anomalies = new ArrayList<>();
+        segments.forEach(segment -> anomalies.addAll(segment.getAnomalies()));
+        return anomalies;
+    }
+
+    public long anomalyCount() {
+        return segments.stream().mapToLong(ExpenseSegment::getAnomalyCount).sum();
+    }
+
+    public CategoryStats categoryStats(String category) {
+        CategoryStats stats = CategoryStats.EMPTY;
+        for (ExpenseSegment segment : segments) {
+            CategoryStats segmentStats = segment.getCategoryTotals().get(category);
+            if (segmentStats != null) {
+                stats = stats.plus(segmentStats);
+            }
+        }
+        return stats;
+    }
+}
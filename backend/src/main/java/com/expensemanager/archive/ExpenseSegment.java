@@ -0,0 +1,228 @@
+package com.expensemanager.archive;
+
+import com.expensemanager.anomaly.CategoryStats;
+import com.expensemanager.entity.Expense;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * A sealed month of expenses stored as an immutable, memory-mapped, columnar file.
+ *
+ * <p>Layout: {@code MAGIC, VERSION}, then one deflate-compressed block per column, then a footer with
+ * the month, row and anomaly counts, per-category count/sum, per-vendor sum and the column directory,
+ * and finally {@code footerOffset, MAGIC}. Only the footer is read on open; dashboard aggregates are
+ * answered from it, and columns are inflated only when individual rows are needed.
+ * Amounts are stored as long cents.
+ */
+@Getter
+public final class ExpenseSegment {
+
+    static final int MAGIC = 0x45585347; // "EXSG"
+    static final int FORMAT_VERSION = 1;
+
+    static final String COLUMN_ID = "id";
+    static final String COLUMN_DAY = "day";
+    static final String COLUMN_AMOUNT = "amount";
+    static final String COLUMN_VENDOR = "vendor";
+    static final String COLUMN_CATEGORY = "category";
+    static final String COLUMN_DESCRIPTION = "description";
+    static final String COLUMN_ANOMALY = "anomaly";
+    static final String COLUMN_CREATED_AT = "createdAt";
+    static final String COLUMN_IMPORT_ID = "importId";
+
+    private final Path path;
+    private final YearMonth month;
+    private final int rowCount;
+    private final int anomalyCount;
+    private final long fileSize;
+    private final Map<String, CategoryStats> categoryTotals;
+    private final Map<String, BigDecimal> vendorTotals;
+
+    @Getter(AccessLevel.NONE)
+    private final List<String> categories;
+    @Getter(AccessLevel.NONE)
+    private final List<String> vendors;
+    @Getter(AccessLevel.NONE)
+    private final Map<String, long[]> columns;
+    @Getter(AccessLevel.NONE)
+    private final MappedByteBuffer buffer;
+    @Getter(AccessLevel.NONE)
+    private volatile List<Expense> anomalies;
+
+    private ExpenseSegment(Path path, MappedByteBuffer buffer) throws IOException {
+        this.path = path;
+        this.buffer = buffer;
+        this.fileSize = buffer.capacity();
+
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(buffer.capacity() - 4) != MAGIC) {
+            throw new IOException("Not an expense segment: " + path);
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Unsupported segment format version " + buffer.getInt(4) + ": " + path);
+        }
+
+        long footerOffset = buffer.getLong(buffer.capacity() - 12);
+        DataInputStream footer = new DataInputStream(new ByteArrayInputStream(
+                bytes(buffer, footerOffset, (int) (buffer.capacity() - 12 - footerOffset))));
+
+        this.month = YearMonth.of(footer.readInt(), footer.readInt());
+        this.rowCount = footer.readInt();
+        this.anomalyCount = footer.readInt();
+
+        int categoryCount = footer.readInt();
+        Map<String, CategoryStats> categoryStats = new LinkedHashMap<>();
+        List<String> categoryNames = new ArrayList<>(categoryCount);
+        for (int i = 0; i < categoryCount; i++) {
+            String name = footer.readUTF();
+            long count = footer.readLong();
+            categoryStats.put(name, new CategoryStats(count, fromCents(footer.readLong())));
+            categoryNames.add(name);
+        }
+
+        int vendorCount = footer.readInt();
+        Map<String, BigDecimal> vendorSums = new LinkedHashMap<>();
+        List<String> vendorNames = new ArrayList<>(vendorCount);
+        for (int i = 0; i < vendorCount; i++) {
+            String name = footer.readUTF();
+            vendorSums.put(name, fromCents(footer.readLong()));
+            vendorNames.add(name);
+        }
+
+        int columnCount = footer.readInt();
+        Map<String, long[]> columnDirectory = new HashMap<>();
+        for (int i = 0; i < columnCount; i++) {
+            columnDirectory.put(footer.readUTF(), new long[]{footer.readLong(), footer.readInt(), footer.readInt()});
+        }
+
+        this.categoryTotals = Collections.unmodifiableMap(categoryStats);
+        this.vendorTotals = Collections.unmodifiableMap(vendorSums);
+        this.categories = List.copyOf(categoryNames);
+        this.vendors = List.copyOf(vendorNames);
+        this.columns = columnDirectory;
+    }
+
+    /**
+     * Maps the file read-only and parses its footer.
+     */
+    public static ExpenseSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new ExpenseSegment(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public BigDecimal getTotal() {
+        return categoryTotals.values().stream().map(CategoryStats::getSum).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    /**
+     * Returns the anomalous rows of this segment. Decoded on first use and then kept, since segments never change.
+     */
+    public List<Expense> getAnomalies() {
+        List<Expense> result = anomalies;
+        if (result == null) {
+            result = anomalyCount == 0
+                    ? List.of()
+                    : readRows().stream().filter(Expense::isAnomaly).toList();
+            anomalies = result;
+        }
+        return result;
+    }
+
+    /**
+     * Decodes every row of the segment into detached {@link Expense} instances.
+     */
+    public List<Expense> readRows() {
+        try {
+            DataInputStream id = column(COLUMN_ID);
+            DataInputStream day = column(COLUMN_DAY);
+            DataInputStream amount = column(COLUMN_AMOUNT);
+            DataInputStream vendor = column(COLUMN_VENDOR);
+            DataInputStream category = column(COLUMN_CATEGORY);
+            DataInputStream description = column(COLUMN_DESCRIPTION);
+            DataInputStream anomaly = column(COLUMN_ANOMALY);
+            DataInputStream createdAt = column(COLUMN_CREATED_AT);
+            DataInputStream importId = column(COLUMN_IMPORT_ID);
+
+            List<Expense> rows = new ArrayList<>(rowCount);
+            for (int i = 0; i < rowCount; i++) {
+                rows.add(Expense.builder()
+                        .id(new UUID(id.readLong(), id.readLong()))
+                        .date(month.atDay(day.readUnsignedByte()))
+                        .amount(fromCents(amount.readLong()))
+                        .vendorName(vendors.get(vendor.readInt()))
+                        .category(categories.get(category.readInt()))
+                        .description(description.readBoolean() ? description.readUTF() : null)
+                        .isAnomaly(anomaly.readBoolean())
+                        .createdAt(fromEpochMicros(createdAt.readLong()))
+                        .importId(importId.readBoolean() ? new UUID(importId.readLong(), importId.readLong()) : null)
+                        .build());
+            }
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt segment " + path, e);
+        }
+    }
+
+    static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).longValueExact();
+    }
+
+    static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private static LocalDateTime fromEpochMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(
+                Math.floorDiv(micros, 1_000_000), Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+
+    private DataInputStream column(String name) throws IOException {
+        long[] ref = columns.get(name);
+        if (ref == null) {
+            throw new IOException("Missing column '" + name + "'");
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(buffer.slice((int) ref[0], (int) ref[1]));
+            byte[] raw = new byte[(int) ref[2]];
+            int read = 0;
+            while (read < raw.length && !inflater.finished()) {
+                read += inflater.inflate(raw, read, raw.length - read);
+            }
+            return new DataInputStream(new ByteArrayInputStream(raw));
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt column '" + name + "'", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static byte[] bytes(ByteBuffer buffer, long offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get((int) offset, bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,194 @@
+package com.expensemanager.archive;
+
+import com.expensemanager.entity.Expense;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes one month of expenses as an immutable segment file. See {@link ExpenseSegment} for the layout.
+ * Rows are consumed as a stream: each column is deflated into its own temporary file next to the target as
+ * rows arrive, and the files are concatenated at the end, so memory does not grow with the month's size.
+ */
+final class ExpenseSegmentWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private ExpenseSegmentWriter() {
+    }
+
+    /**
+     * Writes the rows to a new file at {@code target} and forces it to disk before returning.
+     * Rows must all fall in {@code month}; their order is preserved.
+     *
+     * @return the number of rows written
+     */
+    static int write(Path target, YearMonth month, Stream<Expense> rows) throws IOException {
+        Map<String, Integer> vendorIds = new LinkedHashMap<>();
+        Map<String, Integer> categoryIds = new LinkedHashMap<>();
+        Map<String, long[]> categoryTotals = new LinkedHashMap<>();
+        Map<String, Long> vendorTotals = new LinkedHashMap<>();
+        int rowCount = 0;
+        int anomalyCount = 0;
+
+        List<Column> columns = new ArrayList<>();
+        try {
+            Column id = Column.create(target, ExpenseSegment.COLUMN_ID, columns);
+            Column day = Column.create(target, ExpenseSegment.COLUMN_DAY, columns);
+            Column amount = Column.create(target, ExpenseSegment.COLUMN_AMOUNT, columns);
+            Column vendor = Column.create(target, ExpenseSegment.COLUMN_VENDOR, columns);
+            Column category = Column.create(target, ExpenseSegment.COLUMN_CATEGORY, columns);
+            Column description = Column.create(target, ExpenseSegment.COLUMN_DESCRIPTION, columns);
+            Column anomaly = Column.create(target, ExpenseSegment.COLUMN_ANOMALY, columns);
+            Column createdAt = Column.create(target, ExpenseSegment.COLUMN_CREATED_AT, columns);
+            Column importId = Column.create(target, ExpenseSegment.COLUMN_IMPORT_ID, columns);
+
+            Iterator<Expense> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Expense expense = iterator.next();
+                long cents = ExpenseSegment.toCents(expense.getAmount());
+
+                id.out.writeLong(expense.getId().getMostSignificantBits());
+                id.out.writeLong(expense.getId().getLeastSignificantBits());
+                day.out.writeByte(expense.getDate().getDayOfMonth());
+                amount.out.writeLong(cents);
+                vendor.out.writeInt(vendorIds.computeIfAbsent(expense.getVendorName(), key -> vendorIds.size()));
+                category.out.writeInt(categoryIds.computeIfAbsent(expense.getCategory(), key -> categoryIds.size()));
+                writeNullableString(description.out, expense.getDescription());
+                anomaly.out.writeBoolean(expense.isAnomaly());
+                createdAt.out.writeLong(toEpochMicros(expense.getCreatedAt()));
+                writeNullableUuid(importId.out, expense.getImportId());
+
+                long[] totals = categoryTotals.computeIfAbsent(expense.getCategory(), key -> new long[2]);
+                totals[0]++;
+                totals[1] += cents;
+                vendorTotals.merge(expense.getVendorName(), cents, Long::sum);
+                rowCount++;
+                if (expense.isAnomaly()) anomalyCount++;
+            }
+            for (Column column : columns) {
+                column.finish();
+            }
+
+            try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+                out.writeInt(ExpenseSegment.MAGIC);
+                out.writeInt(ExpenseSegment.FORMAT_VERSION);
+
+                long position = 8;
+                long[] offsets = new long[columns.size()];
+                for (int i = 0; i < columns.size(); i++) {
+                    offsets[i] = position;
+                    Files.copy(columns.get(i).file, out);
+                    position += columns.get(i).compressedLength;
+                }
+
+                // Footer: precomputed totals first, so aggregates never need to touch the columns.
+                // Dictionary order of the category and vendor lists is the id order used in the columns.
+                long footerOffset = position;
+                out.writeInt(month.getYear());
+                out.writeInt(month.getMonthValue());
+                out.writeInt(rowCount);
+                out.writeInt(anomalyCount);
+                out.writeInt(categoryIds.size());
+                for (String name : categoryIds.keySet()) {
+                    out.writeUTF(name);
+                    out.writeLong(categoryTotals.get(name)[0]);
+                    out.writeLong(categoryTotals.get(name)[1]);
+                }
+                out.writeInt(vendorIds.size());
+                for (String name : vendorIds.keySet()) {
+                    out.writeUTF(name);
+                    out.writeLong(vendorTotals.get(name));
+                }
+                out.writeInt(columns.size());
+                for (int i = 0; i < columns.size(); i++) {
+                    out.writeUTF(columns.get(i).name);
+                    out.writeLong(offsets[i]);
+                    out.writeInt(Math.toIntExact(columns.get(i).compressedLength));
+                    out.writeInt(columns.get(i).out.size());
+                }
+                out.writeLong(footerOffset);
+                out.writeInt(ExpenseSegment.MAGIC);
+                out.flush();
+                channel.force(true);
+            }
+            return rowCount;
+        } finally {
+            for (Column column : columns) {
+                column.discard();
+            }
+        }
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) out.writeUTF(value);
+    }
+
+    private static void writeNullableUuid(DataOutputStream out, UUID value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.getMostSignificantBits());
+            out.writeLong(value.getLeastSignificantBits());
+        }
+    }
+
+    private static long toEpochMicros(LocalDateTime value) {
+        return value.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + value.getNano() / 1_000;
+    }
+
+    /**
+     * One column being written: raw values go through {@link #out}, deflated into a temporary file.
+     * {@code out.size()} is the raw length.
+     */
+    private static class Column {
+
+        private final String name;
+        private final Path file;
+        private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        private final DataOutputStream out;
+        private long compressedLength;
+
+        private Column(String name, Path file) throws IOException {
+            this.name = name;
+            this.file = file;
+            this.out = new DataOutputStream(new BufferedOutputStream(
+                    new DeflaterOutputStream(Files.newOutputStream(file), deflater, BUFFER_SIZE), BUFFER_SIZE));
+        }
+
+        static Column create(Path target, String name, List<Column> columns) throws IOException {
+            Column column = new Column(name, Files.createTempFile(target.getParent(), target.getFileName() + "." + name, ".col"));
+            columns.add(column);
+            return column;
+        }
+
+        void finish() throws IOException {
+            out.close();
+            compressedLength = Files.size(file);
+        }
+
+        void discard() throws IOException {
+            deflater.end();
+            Files.deleteIfExists(file);
+        }
+    }
+}
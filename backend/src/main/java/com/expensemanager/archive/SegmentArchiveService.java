@@ -0,0 +1,282 @@
+package com.expensemanager.archive;
+
+import com.expensemanager.dashboard.DashboardCache;
+import com.expensemanager.dto.response.ArchiveSegmentResponse;
+import com.expensemanager.entity.ArchivedMonth;
+import com.expensemanager.entity.Expense;
+import com.expensemanager.exception.BadRequestException;
+import com.expensemanager.repository.ArchivedMonthRepository;
+import com.expensemanager.repository.ExpenseRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Archival tier for closed months. Sealing a month moves its rows out of the {@code expenses} table
+ * into an immutable {@link ExpenseSegment} file, keeping the online table and its indexes small.
+ * Read paths combine the live table with the segments, mostly from the segments' precomputed totals.
+ * <p>
+ * Sealed months are recorded in {@code archived_months} in the transaction that deletes their rows, and
+ * readers take the set of segments from that table ({@link #current()}), so every instance sees a seal
+ * at the same moment as the delete. {@code archive.segment-dir} must therefore be storage shared by all
+ * instances. A recorded segment that cannot be read fails startup, or the read that needs it.
+ */
+@Slf4j
+@Service
+public class SegmentArchiveService implements SmartLifecycle {
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final ExpenseRepository expenseRepository;
+    private final ArchivedMonthRepository archivedMonthRepository;
+    private final EntityManager entityManager;
+    private final DashboardCache dashboardCache;
+    private final Path segmentDir;
+    private final boolean deferredInit;
+    private final Clock clock = Clock.systemDefaultZone();
+    // Opened segments by file name; files never change once recorded
+    private final Map<String, ExpenseSegment> openSegments = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+
+    public SegmentArchiveService(ExpenseRepository expenseRepository,
+                                 ArchivedMonthRepository archivedMonthRepository,
+                                 EntityManager entityManager,
+                                 DashboardCache dashboardCache,
+                                 @Value("${archive.segment-dir:./data/segments}") String segmentDir,
+                                 @Value("${startup.deferred-init:false}") boolean deferredInit) {
+        this.expenseRepository = expenseRepository;
+        this.archivedMonthRepository = archivedMonthRepository;
+        this.entityManager = entityManager;
+        this.dashboardCache = dashboardCache;
+        this.segmentDir = Paths.get(segmentDir);
+        this.deferredInit = deferredInit;
+    }
+
+    /**
+     * Opens the recorded segments before the web server starts, so a missing file fails startup.
+     * Runs as a lifecycle callback rather than in {@code @PostConstruct}, so that builds which only refresh
+     * the context (AOT, CDS training) need no database. With {@code startup.deferred-init=true} the check
+     * is left to {@link #verifySegments()} after startup.
+     */
+    @Override
+    public void start() {
+        if (!deferredInit) {
+            verifySegments();
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Before the web server, which starts in one of the last phases
+        return 0;
+    }
+
+    /**
+     * Opens every recorded segment, failing if one cannot be read.
+     */
+    public void verifySegments() {
+        int count = current().segments().size();
+        log.info("Loaded {} archived month segments from {}", count, segmentDir.toAbsolutePath());
+    }
+
+    /**
+     * Returns the segments of the months recorded as archived, opening any not opened yet.
+     * Must be called in the transaction whose live-table queries it is combined with.
+     *
+     * @throws IllegalStateException if a recorded segment file cannot be read
+     */
+    public ArchivedSegments current() {
+        List<ExpenseSegment> segments = new ArrayList<>();
+        for (ArchivedMonth record : archivedMonthRepository.findAllByOrderByMonthAsc()) {
+            segments.add(open(record));
+        }
+        return new ArchivedSegments(segments);
+    }
+
+    /**
+     * Runs a live-table read combined with the archived segments outside a snapshot transaction.
+     * A seal may commit between the two; the recorded months are read again afterwards and the read is
+     * repeated if they changed, so a month is counted exactly once.
+     */
+    public <T> T read(Function<ArchivedSegments, T> reader) {
+        ArchivedSegments archive = current();
+        while (true) {
+            T result = reader.apply(archive);
+            ArchivedSegments after = current();
+            if (after.segments().equals(archive.segments())) {
+                return result;
+            }
+            archive = after;
+        }
+    }
+
+    /**
+     * Seals a closed month: streams its rows into a segment file, forces it to disk, then deletes the rows
+     * from the table. The segment becomes visible only once the delete commits; the file is removed
+     * only if the transaction is known to have rolled back.
+     * Runs under REPEATABLE READ, so the delete removes exactly the rows the file holds: rows added to the
+     * month meanwhile stay live, and rows changed meanwhile make the seal fail instead of being lost.
+     */
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public ArchiveSegmentResponse seal(YearMonth month) {
+        if (!month.isBefore(YearMonth.now(clock))) {
+            throw new BadRequestException("Only closed months can be archived; " + month + " is not over yet.");
+        }
+        if (archivedMonthRepository.existsById(month.toString())) {
+            throw new BadRequestException("Month " + month + " is already archived.");
+        }
+
+        // Each attempt gets its own file, so a failed or concurrent one can never overwrite or delete another's
+        ArchivedMonth record = ArchivedMonth.builder()
+                .month(month.toString())
+                .fileName("expenses-" + month + "-" + UUID.randomUUID() + SEGMENT_SUFFIX)
+                .sealedAt(LocalDateTime.now(clock))
+                .build();
+        claim(record);
+
+        Path target = segmentDir.resolve(record.getFileName());
+        ExpenseSegment segment = writeSegment(target, month);
+        record.setRowCount(segment.getRowCount());
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    openSegments.putIfAbsent(record.getFileName(), segment);
+                    dashboardCache.invalidateAll();
+                    log.info("Archived {} expenses of {} into {}", segment.getRowCount(), month, target);
+                } else if (status == STATUS_ROLLED_BACK) {
+                    deleteQuietly(target);
+                } else {
+                    // The commit may have succeeded; if so archived_months records the file and readers load it
+                    log.error("Archiving {} ended with an unknown outcome; keeping {}. It is an orphan unless "
+                            + "archived_months records it.", month, target);
+                }
+            }
+        });
+
+        int deleted = expenseRepository.deleteByDateBetween(month.atDay(1), month.atEndOfMonth());
+        if (deleted != segment.getRowCount()) {
+            throw new IllegalStateException("Archiving " + month + " wrote " + segment.getRowCount()
+                    + " expenses but would delete " + deleted + ".");
+        }
+        return toResponse(segment);
+    }
+
+    public List<ArchiveSegmentResponse> getSegments() {
+        return current().segments().stream().map(this::toResponse).toList();
+    }
+
+    private ExpenseSegment open(ArchivedMonth record) {
+        return openSegments.computeIfAbsent(record.getFileName(), fileName -> {
+            Path file = segmentDir.resolve(fileName);
+            try {
+                return ExpenseSegment.open(file);
+            } catch (IOException e) {
+                throw new IllegalStateException("Segment " + file.toAbsolutePath() + " recorded for " + record.getMonth()
+                        + " cannot be read; archive.segment-dir must be storage shared by all instances", e);
+            }
+        });
+    }
+
+    /**
+     * Inserts the month's record right away. The primary key makes a concurrent seal of the same month,
+     * on this or any other instance, wait for this transaction and then fail instead of archiving twice.
+     */
+    private void claim(ArchivedMonth record) {
+        try {
+            entityManager.persist(record);
+            entityManager.flush();
+        } catch (PersistenceException e) {
+            throw new BadRequestException("Month " + record.getMonth() + " is already archived.");
+        }
+    }
+
+    private ExpenseSegment writeSegment(Path target, YearMonth month) {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(segmentDir);
+            int rows;
+            // Detached as they are written, so memory stays flat however large the month is
+            try (Stream<Expense> expenses = expenseRepository.streamByDateBetweenOrderByDateAscCreatedAtAsc(
+                    month.atDay(1), month.atEndOfMonth())) {
+                rows = ExpenseSegmentWriter.write(temp, month, expenses.peek(entityManager::detach));
+            }
+            if (rows == 0) {
+                Files.delete(temp);
+                throw new BadRequestException("No expenses to archive for " + month + ".");
+            }
+            // Without REPLACE_EXISTING the move fails rather than overwrite an existing segment
+            Files.move(temp, target);
+            // Makes the rename itself durable before the rows are deleted
+            try (FileChannel dir = FileChannel.open(segmentDir, StandardOpenOption.READ)) {
+                dir.force(true);
+            }
+            return ExpenseSegment.open(target);
+        } catch (FileAlreadyExistsException e) {
+            deleteQuietly(temp);
+            throw new UncheckedIOException("Segment file " + target + " already exists", e);
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            deleteQuietly(target);
+            throw new UncheckedIOException("Failed to write segment for " + month, e);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.error("Could not delete segment file {}", file, e);
+        }
+    }
+
+    private ArchiveSegmentResponse toResponse(ExpenseSegment segment) {
+        return ArchiveSegmentResponse.builder()
+                .year(segment.getMonth().getYear())
+                .month(segment.getMonth().getMonthValue())
+                .rowCount(segment.getRowCount())
+                .anomalyCount(segment.getAnomalyCount())
+                .total(segment.getTotal())
+                .fileSizeBytes(segment.getFileSize())
+                .build();
+    }
+}
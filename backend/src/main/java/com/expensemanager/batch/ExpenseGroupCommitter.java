@@ -0,0 +1,309 @@
+package com.expensemanager.batch;
+
+import com.expensemanager.anomaly.AnomalyDetectionService;
+import com.expensemanager.anomaly.CategoryStats;
+import com.expensemanager.dashboard.DashboardChangeTracker;
+import com.expensemanager.dto.request.ExpenseRequest;
+import com.expensemanager.dto.response.ExpenseResponse;
+import com.expensemanager.entity.Expense;
+import com.expensemanager.exception.ServiceUnavailableException;
+import com.expensemanager.mapper.ExpenseMapper;
+import com.expensemanager.repository.ExpenseRepository;
+import com.expensemanager.strategy.CategorizationStrategy;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Group commit for single-expense writes. Concurrent {@link #submit} calls are queued, and one writer thread
+ * saves up to {@code max-batch-size} of them, gathered for at most {@code max-delay-ms}, in a single transaction
+ * with JDBC-batched inserts. Callers are released only after that transaction commits, so durability is the
+ * same as with one transaction per expense. The commit, its WAL flush and the connection checkout are shared.
+ * If a batch fails before its commit, its expenses are retried in one transaction each, so every caller gets
+ * its own outcome; a failure during the commit itself is reported to all callers, since the batch may have
+ * been saved. Callers wait at most {@code timeout-ms} and then get a 503 saying whether the expense was saved.
+ * Expenses the writer never attempted, because it stopped or died first, are handed back to the caller
+ * to save directly, as are all later ones.
+ */
+@Slf4j
+@Component
+public class ExpenseGroupCommitter {
+
+    private static final long IDLE_POLL_MS = 100;
+    private static final long SHUTDOWN_TIMEOUT_MS = 10_000;
+
+    private final CategorizationStrategy categorizationStrategy;
+    private final AnomalyDetectionService anomalyDetectionService;
+    private final ExpenseRepository expenseRepository;
+    private final ExpenseMapper expenseMapper;
+    private final DashboardChangeTracker dashboardChangeTracker;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final long timeoutMs;
+    private final BlockingQueue<PendingExpense> queue = new LinkedBlockingQueue<>();
+
+    private Thread writer;
+    private volatile boolean running;
+
+    public ExpenseGroupCommitter(CategorizationStrategy categorizationStrategy,
+                                 AnomalyDetectionService anomalyDetectionService,
+                                 ExpenseRepository expenseRepository,
+                                 ExpenseMapper expenseMapper,
+                                 DashboardChangeTracker dashboardChangeTracker,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${expenses.group-commit.enabled:false}") boolean enabled,
+                                 @Value("${expenses.group-commit.max-batch-size:64}") int maxBatchSize,
+                                 @Value("${expenses.group-commit.max-delay-ms:2}") long maxDelayMs,
+                                 @Value("${expenses.group-commit.timeout-ms:30000}") long timeoutMs) {
+        this.categorizationStrategy = categorizationStrategy;
+        this.anomalyDetectionService = anomalyDetectionService;
+        this.expenseRepository = expenseRepository;
+        this.expenseMapper = expenseMapper;
+        this.dashboardChangeTracker = dashboardChangeTracker;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.maxBatchSize = Math.max(maxBatchSize, 1);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(maxDelayMs, 0));
+        this.timeoutMs = timeoutMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) return;
+
+        running = true;
+        writer = new Thread(this::writeLoop, "expense-group-commit");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Expense group commit enabled: maxBatchSize={}, maxDelay={} ms",
+                maxBatchSize, TimeUnit.NANOSECONDS.toMillis(maxDelayNanos));
+    }
+
+    /**
+     * Queues an expense and blocks until the batch containing it has committed.
+     * Must not be called inside a transaction: the caller would hold a connection while waiting.
+     *
+     * @param request the expense to save
+     * @return the saved expense, or empty if group commit is disabled, stopped or the writer died before
+     * attempting it; the caller then saves it directly
+     * @throws ServiceUnavailableException if the wait timed out or was interrupted
+     */
+    public Optional<ExpenseResponse> submit(ExpenseRequest request) {
+        if (!running) {
+            return Optional.empty();
+        }
+
+        PendingExpense pending = new PendingExpense(request, new CompletableFuture<>());
+        queue.add(pending);
+        // Stopped between the check and the add, after the writer's final drain: nobody would complete it
+        if (!running && queue.remove(pending)) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(pending.result().get(timeoutMs, TimeUnit.MILLISECONDS));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof NotAttempted) {
+                return Optional.empty();
+            }
+            // Rethrow the writer's exception as is, so GlobalExceptionHandler maps it as on the direct path
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Expense group commit failed.", e.getCause());
+        } catch (TimeoutException e) {
+            throw abandon(pending, "Timed out after " + timeoutMs + " ms waiting for group commit.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw abandon(pending, "Interrupted while waiting for group commit.");
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (writer == null) return;
+
+        running = false;
+        try {
+            writer.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        handBackQueued();
+    }
+
+    /**
+     * Stops waiting for an expense. If it is still queued it will never be saved; otherwise its batch is
+     * already being written and the caller cannot know the outcome.
+     */
+    private ServiceUnavailableException abandon(PendingExpense pending, String reason) {
+        if (queue.remove(pending)) {
+            return new ServiceUnavailableException(reason + " The expense was not saved.");
+        }
+        return new ServiceUnavailableException(reason + " The expense may or may not have been saved.");
+    }
+
+    /**
+     * Releases the queued expenses, which the writer will never attempt, so their callers save them directly.
+     */
+    private void handBackQueued() {
+        PendingExpense left;
+        while ((left = queue.poll()) != null) {
+            handBack(left);
+        }
+    }
+
+    private static void handBack(PendingExpense pending) {
+        pending.result().completeExceptionally(NotAttempted.INSTANCE);
+    }
+
+    private void writeLoop() {
+        try {
+            drainQueue();
+        } finally {
+            // Normally reached after stop(); if the loop died instead, nobody would complete later submissions
+            if (running) {
+                running = false;
+                log.error("Expense group commit writer stopped unexpectedly; expenses are now saved one transaction each");
+            }
+            handBackQueued();
+        }
+    }
+
+    private void drainQueue() {
+        List<PendingExpense> batch = new ArrayList<>(maxBatchSize);
+        // Keeps draining after stop() so nothing already queued is dropped
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingExpense first = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - batch.size());
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    PendingExpense next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                write(batch);
+            } catch (InterruptedException e) {
+                // Interrupted while gathering, before anything was written
+                batch.forEach(ExpenseGroupCommitter::handBack);
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Throwable e) {
+                // Errors included: a caller whose batch is left incomplete would wait until its timeout
+                log.error("Group commit of {} expenses failed unexpectedly", batch.size(), e);
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingExpense> batch) {
+        long started = System.nanoTime();
+        AtomicBoolean committing = new AtomicBoolean();
+        try {
+            List<ExpenseResponse> responses = transactionTemplate.execute(status -> {
+                List<ExpenseResponse> saved = saveAll(batch);
+                committing.set(true);
+                return saved;
+            });
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(responses.get(i));
+            }
+            log.debug("Group commit saved {} expenses in {} ms",
+                    batch.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (RuntimeException e) {
+            // Only a failure while saving (a flush or constraint error) is known to have rolled everything back;
+            // one during the commit may have saved the batch, and retrying it could insert duplicates
+            if (batch.size() == 1 || committing.get()) {
+                if (committing.get()) {
+                    log.error("Commit of a group of {} expenses failed with an unknown outcome", batch.size(), e);
+                }
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+                return;
+            }
+            log.warn("Group commit of {} expenses failed ({}); retrying them one by one", batch.size(), e.getMessage());
+            for (PendingExpense pending : batch) {
+                try {
+                    pending.result().complete(transactionTemplate.execute(status -> saveAll(List.of(pending))).get(0));
+                } catch (RuntimeException single) {
+                    pending.result().completeExceptionally(single);
+                }
+            }
+        }
+    }
+
+    /**
+     * Saves a batch in the current transaction. Categories and their anomaly baselines are looked up once
+     * per batch before any insert, and each baseline then includes the batch's earlier expenses, so
+     * the result matches saving the same expenses one after another.
+     */
+    private List<ExpenseResponse> saveAll(List<PendingExpense> batch) {
+        Map<String, String> categories = categorizationStrategy.categorizeAll(batch.stream()
+                .map(pending -> pending.request().getVendorName())
+                .distinct()
+                .toList());
+        Map<String, CategoryStats> statsByCategory = new HashMap<>();
+        categories.values().stream().distinct()
+                .forEach(category -> statsByCategory.put(category, anomalyDetectionService.getCategoryStats(category)));
+
+        List<Expense> saved = new ArrayList<>(batch.size());
+        for (PendingExpense pending : batch) {
+            ExpenseRequest request = pending.request();
+            String category = categories.get(request.getVendorName());
+            CategoryStats stats = statsByCategory.get(category);
+            boolean isAnomaly = anomalyDetectionService.isAnomaly(category, stats, request.getAmount());
+            statsByCategory.put(category, stats.plus(request.getAmount()));
+
+            saved.add(expenseRepository.save(expenseMapper.toEntity(request, category, isAnomaly)));
+        }
+        // One batched round trip for all inserts; failures surface here, inside the transaction
+        expenseRepository.flush();
+
+        List<ExpenseResponse> responses = new ArrayList<>(saved.size());
+        for (Expense expense : saved) {
+            log.info("Expense saved with id={}, category='{}', isAnomaly={}",
+                    expense.getId(), expense.getCategory(), expense.isAnomaly());
+            ExpenseResponse response = expenseMapper.toResponse(expense);
+            dashboardChangeTracker.recordSaved(response);
+            responses.add(response);
+        }
+        return responses;
+    }
+
+    private record PendingExpense(ExpenseRequest request, CompletableFuture<ExpenseResponse> result) {
+    }
+
+    /**
+     * Completes an expense the writer never attempted; {@link #submit} turns it into an empty result.
+     */
+    private static final class NotAttempted extends RuntimeException {
+        private static final NotAttempted INSTANCE = new NotAttempted();
+
+        private NotAttempted() {
+            super("Expense group commit is not running.", null, false, false);
+        }
+    }
+}
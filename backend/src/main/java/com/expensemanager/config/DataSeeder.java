@@ -2,25 +2,45 @@ package com.expensemanager.config;
 
 import com.expensemanager.entity.VendorCategoryMapping;
 import com.expensemanager.repository.VendorCategoryMappingRepository;
-import lombok.RequiredArgsConstructor;
+import com.expensemanager.strategy.VendorMappingChangedEvent;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 
 /**
  * Seeds vendor-category mappings on application startup if the table is empty.
+ * With {@code startup.deferred-init=true} the seeding is left to {@link StartupWarmup}, off the startup path.
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class DataSeeder implements CommandLineRunner {
 
     private final VendorCategoryMappingRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean deferred;
+
+    public DataSeeder(VendorCategoryMappingRepository repository,
+                      ApplicationEventPublisher eventPublisher,
+                      @Value("${startup.deferred-init:false}") boolean deferred) {
+        this.repository = repository;
+        this.eventPublisher = eventPublisher;
+        this.deferred = deferred;
+    }
 
     @Override
     public void run(String... args) {
+        if (deferred) {
+            log.info("Vendor category seeding deferred until after startup.");
+            return;
+        }
+        seed();
+    }
+
+    public void seed() {
         if (repository.count() > 0) {
             log.info("Vendor category mappings already seeded. Skipping.");
             return;
@@ -62,6 +82,7 @@ public class DataSeeder implements CommandLineRunner {
         );
 
         repository.saveAll(mappings);
+        mappings.forEach(m -> eventPublisher.publishEvent(new VendorMappingChangedEvent(m.getVendorName(), m.getCategory())));
         log.info("Seeded {} vendor-category mappings.", mappings.size());
     }
 
@@ -0,0 +1,25 @@
+package com.expensemanager.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Makes sure the pg_trgm extension that search depends on exists. Creating it is quick and idempotent,
+ * so it runs as a startup warmup step. The trigram index is built separately by
+ * {@code db/migrations/001_search_trigram_index.sql}, because it must be built CONCURRENTLY so that
+ * writes are not blocked.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchExtensionInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void ensureExtension() {
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+        log.info("pg_trgm extension is available for search");
+    }
+}
@@ -0,0 +1,83 @@
+package com.expensemanager.config;
+
+import com.expensemanager.archive.SegmentArchiveService;
+import com.expensemanager.service.ExpenseService;
+import com.expensemanager.stats.SpendDistributionService;
+import com.expensemanager.strategy.CategorizationStrategy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Runs everything that is useful but not required to serve requests on a background thread once the
+ * application is ready: deferred segment checks and seeding, the search extension, the categorization index, the dashboard cache and the spend sketches.
+ * Also logs how long startup took, so fast-start builds can be compared.
+ */
+@Slf4j
+@Component
+public class StartupWarmup {
+
+    private final DataSeeder dataSeeder;
+    private final CategorizationStrategy categorizationStrategy;
+    private final ExpenseService expenseService;
+    private final SpendDistributionService spendDistributionService;
+    private final SegmentArchiveService segmentArchiveService;
+    private final SearchExtensionInitializer searchExtensionInitializer;
+    private final boolean deferredInit;
+
+    public StartupWarmup(DataSeeder dataSeeder,
+                         CategorizationStrategy categorizationStrategy,
+                         ExpenseService expenseService,
+                         SpendDistributionService spendDistributionService,
+                         SegmentArchiveService segmentArchiveService,
+                         SearchExtensionInitializer searchExtensionInitializer,
+                         @Value("${startup.deferred-init:false}") boolean deferredInit) {
+        this.dataSeeder = dataSeeder;
+        this.categorizationStrategy = categorizationStrategy;
+        this.expenseService = expenseService;
+        this.spendDistributionService = spendDistributionService;
+        this.segmentArchiveService = segmentArchiveService;
+        this.searchExtensionInitializer = searchExtensionInitializer;
+        this.deferredInit = deferredInit;
+    }
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        log.info("Startup: ready in {} ms, JVM uptime {} ms",
+                event.getTimeTaken().toMillis(), ManagementFactory.getRuntimeMXBean().getUptime());
+
+        Thread thread = new Thread(this::warmUp, "startup-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void warmUp() {
+        long started = System.currentTimeMillis();
+        if (deferredInit) {
+            run("archived segments", segmentArchiveService::verifySegments);
+            run("vendor seeding", dataSeeder::seed);
+        }
+        run("search extension", searchExtensionInitializer::ensureExtension);
+        run("categorization index", categorizationStrategy::warmUp);
+        run("dashboard cache", () -> {
+            expenseService.getMonthlyTotalsPerCategory();
+            expenseService.getTop5Vendors();
+            expenseService.getAnomalies();
+            expenseService.getAnomalyCount();
+        });
+        run("spend sketches", spendDistributionService::rebuild);
+        log.info("Startup warmup finished in {} ms", System.currentTimeMillis() - started);
+    }
+
+    private void run(String task, Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            log.warn("Startup warmup of {} failed: {}", task, e.getMessage());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.expensemanager.config;
 
+import com.expensemanager.controller.ExpenseController;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -13,6 +14,7 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedOrigins("http://localhost:3000")
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders(ExpenseController.DASHBOARD_VERSION_HEADER)
                 .maxAge(3600);
     }
 }
@@ -0,0 +1,40 @@
+package com.expensemanager.controller;
+
+import com.expensemanager.archive.SegmentArchiveService;
+import com.expensemanager.dto.response.ArchiveSegmentResponse;
+import com.expensemanager.exception.BadRequestException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.DateTimeException;
+import java.time.YearMonth;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/archive/segments")
+@RequiredArgsConstructor
+public class ArchiveController {
+
+    private final SegmentArchiveService segmentArchiveService;
+
+    @GetMapping
+    public ResponseEntity<List<ArchiveSegmentResponse>> getSegments() {
+        return ResponseEntity.ok(segmentArchiveService.getSegments());
+    }
+
+    @PostMapping("/{year}/{month}")
+    public ResponseEntity<ArchiveSegmentResponse> sealMonth(@PathVariable int year, @PathVariable int month) {
+        log.info("POST /api/v1/archive/segments/{}/{} - Sealing month", year, month);
+        YearMonth yearMonth;
+        try {
+            yearMonth = YearMonth.of(year, month);
+        } catch (DateTimeException e) {
+            throw new BadRequestException("Invalid month " + year + "/" + month + ": " + e.getMessage());
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(segmentArchiveService.seal(yearMonth));
+    }
+}
@@ -1,19 +1,29 @@
 package com.expensemanager.controller;
 
+import com.expensemanager.dashboard.DashboardSnapshot;
+import com.expensemanager.dashboard.DashboardStreamService;
+import com.expensemanager.dashboard.DashboardView;
+import com.expensemanager.dto.request.CsvResponseMode;
 import com.expensemanager.dto.request.ExpenseRequest;
 import com.expensemanager.dto.response.*;
 import com.expensemanager.service.ExpenseService;
+import com.expensemanager.stats.SpendDistributionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
 
 @Slf4j
 @RestController
@@ -21,7 +31,12 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class ExpenseController {
 
+    public static final String DASHBOARD_VERSION_HEADER = "X-Dashboard-Version";
+    private static final String IMPORTS_PATH = "/api/v1/expenses/imports/";
+
     private final ExpenseService expenseService;
+    private final DashboardStreamService dashboardStreamService;
+    private final SpendDistributionService spendDistributionService;
 
     @PostMapping
     public ResponseEntity<ExpenseResponse> addExpense(@Valid @RequestBody ExpenseRequest request) {
@@ -31,29 +46,99 @@ public class ExpenseController {
     }
 
     @PostMapping(value = "/upload-csv", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<CsvUploadResponse> uploadCsv(@RequestParam("file") MultipartFile file) {
-        log.info("POST /api/v1/expenses/upload-csv - Filename: {}", file.getOriginalFilename());
-        CsvUploadResponse response = expenseService.uploadCsv(file);
+    public ResponseEntity<CsvUploadResponse> uploadCsv(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "mode", defaultValue = "FULL") CsvResponseMode mode) {
+        log.info("POST /api/v1/expenses/upload-csv - Filename: {}, mode: {}", file.getOriginalFilename(), mode);
+        CsvUploadResponse response = expenseService.uploadCsv(file, mode);
+        response.setExpensesUrl(IMPORTS_PATH + response.getImportId() + "/expenses");
+        response.setErrorsUrl(IMPORTS_PATH + response.getImportId() + "/errors");
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageResponse<ExpenseResponse>> searchExpenses(
+            @RequestParam("q") String query,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(expenseService.searchExpenses(query, cursor, size));
+    }
+
+    @GetMapping("/imports/{importId}/expenses")
+    public ResponseEntity<PageResponse<ExpenseResponse>> getImportedExpenses(
+            @PathVariable UUID importId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(expenseService.getImportedExpenses(importId, page, size));
+    }
+
+    @GetMapping("/imports/{importId}/errors")
+    public ResponseEntity<PageResponse<CsvImportErrorResponse>> getImportErrors(
+            @PathVariable UUID importId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(expenseService.getImportErrors(importId, page, size));
+    }
+
     @GetMapping("/dashboard/monthly-totals")
-    public ResponseEntity<List<CategoryTotalResponse>> getMonthlyTotals() {
-        return ResponseEntity.ok(expenseService.getMonthlyTotalsPerCategory());
+    public ResponseEntity<List<CategoryTotalResponse>> getMonthlyTotals(WebRequest webRequest) {
+        return conditionalGet(webRequest, DashboardView.MONTHLY_TOTALS, expenseService::getMonthlyTotalsPerCategory);
     }
 
     @GetMapping("/dashboard/top-vendors")
-    public ResponseEntity<List<TopVendorResponse>> getTopVendors() {
-        return ResponseEntity.ok(expenseService.getTop5Vendors());
+    public ResponseEntity<List<TopVendorResponse>> getTopVendors(WebRequest webRequest) {
+        return conditionalGet(webRequest, DashboardView.TOP_VENDORS, expenseService::getTop5Vendors);
     }
 
     @GetMapping("/dashboard/anomalies")
-    public ResponseEntity<List<ExpenseResponse>> getAnomalies() {
-        return ResponseEntity.ok(expenseService.getAnomalies());
+    public ResponseEntity<List<ExpenseResponse>> getAnomalies(WebRequest webRequest) {
+        return conditionalGet(webRequest, DashboardView.ANOMALIES, expenseService::getAnomalies);
     }
 
     @GetMapping("/dashboard/anomalies/count")
-    public ResponseEntity<Map<String, Long>> getAnomalyCount() {
-        return ResponseEntity.ok(Map.of("count", expenseService.getAnomalyCount()));
+    public ResponseEntity<Map<String, Long>> getAnomalyCount(WebRequest webRequest) {
+        return conditionalGet(webRequest, DashboardView.ANOMALY_COUNT,
+                () -> expenseService.getAnomalyCount().map(count -> Map.of("count", count)));
+    }
+
+    @GetMapping("/dashboard/percentiles")
+    public ResponseEntity<List<CategoryPercentileResponse>> getPercentiles(
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer month,
+            @RequestParam(required = false) String category) {
+        return ResponseEntity.ok(spendDistributionService.getPercentiles(year, month, category));
+    }
+
+    @PostMapping("/dashboard/percentiles/rebuild")
+    public ResponseEntity<Void> rebuildPercentiles() {
+        log.info("POST /api/v1/expenses/dashboard/percentiles/rebuild - Rebuilding spend sketches");
+        spendDistributionService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping(value = "/dashboard/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDashboard() {
+        log.info("GET /api/v1/expenses/dashboard/stream - New dashboard subscriber");
+        return dashboardStreamService.subscribe();
+    }
+
+    /**
+     * Answers 304 Not Modified when the client's ETag matches the view's current version;
+     * the body is only computed and serialized otherwise. The ETag is read before the body,
+     * so a concurrent write can only make the next request miss, never serve stale data as fresh.
+     */
+    private <T> ResponseEntity<T> conditionalGet(WebRequest webRequest, DashboardView view,
+                                                 Supplier<DashboardSnapshot<T>> loader) {
+        String etag = expenseService.getDashboardETag(view);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        // ETag and version come from the snapshot itself, which may be newer than the ETag checked above
+        DashboardSnapshot<T> snapshot = loader.get();
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .header(DASHBOARD_VERSION_HEADER, Long.toString(snapshot.version()))
+                .cacheControl(CacheControl.noCache())
+                .body(snapshot.value());
     }
 }
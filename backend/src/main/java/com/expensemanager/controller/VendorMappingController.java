@@ -0,0 +1,45 @@
+package com.expensemanager.controller;
+
+import com.expensemanager.dto.request.VendorMappingRequest;
+import com.expensemanager.dto.response.VendorMappingResponse;
+import com.expensemanager.service.VendorMappingService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/vendor-mappings")
+@RequiredArgsConstructor
+public class VendorMappingController {
+
+    private final VendorMappingService vendorMappingService;
+
+    @GetMapping
+    public ResponseEntity<List<VendorMappingResponse>> getAllMappings() {
+        return ResponseEntity.ok(vendorMappingService.getAllMappings());
+    }
+
+    @PutMapping
+    public ResponseEntity<VendorMappingResponse> saveMapping(@Valid @RequestBody VendorMappingRequest request) {
+        log.info("PUT /api/v1/vendor-mappings - Mapping vendor '{}' to '{}'", request.getVendorName(), request.getCategory());
+        return ResponseEntity.ok(vendorMappingService.saveMapping(request));
+    }
+
+    @DeleteMapping("/{vendorName}")
+    public ResponseEntity<Void> deleteMapping(@PathVariable String vendorName) {
+        log.info("DELETE /api/v1/vendor-mappings/{}", vendorName);
+        vendorMappingService.deleteMapping(vendorName);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/classify")
+    public ResponseEntity<Map<String, String>> classify(@RequestBody List<String> vendorNames) {
+        return ResponseEntity.ok(vendorMappingService.classify(vendorNames));
+    }
+}
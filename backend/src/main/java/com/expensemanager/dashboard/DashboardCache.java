@@ -0,0 +1,214 @@
+package com.expensemanager.dashboard;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process cache for the dashboard read models.
+ * The bound is a weight, one unit per list element, since a single view (the anomaly list) can hold far
+ * more data than all the others; a value heavier than the whole budget is served but never kept.
+ * Each view carries a version that is bumped only when a committed write actually affects it,
+ * which doubles as the ETag source for conditional GETs and lets clients drop live deltas that a
+ * snapshot already contains.
+ * <p>
+ * A loaded value must contain exactly the writes announced up to its version. Writers therefore count
+ * themselves in just before their commit and out once their versions are bumped. A load pins its
+ * REPEATABLE READ database snapshot and reads the version, and keeps them only if no writer was in
+ * between meanwhile; otherwise it retries in a new transaction. Only after repeated collisions does it
+ * take the write side of a commit gate, whose read side writers hold, so a miss normally never blocks
+ * a committing writer.
+ * <p>
+ * Versions, ETags and cached values are per process. Behind a load balancer an ETag issued by one
+ * instance never matches on another (the client gets a full response, never a wrong 304), and an
+ * instance sees writes committed by others only when its cached value expires after
+ * {@code dashboard.cache.ttl}. Multi-instance deployments should set a short TTL accordingly.
+ */
+@Slf4j
+@Component
+public class DashboardCache {
+
+    private static final int OPTIMISTIC_PIN_ATTEMPTS = 3;
+
+    private final Cache<DashboardView, DashboardSnapshot<?>> cache;
+    private final Map<DashboardView, AtomicLong> versions = new EnumMap<>(DashboardView.class);
+    private final ReentrantReadWriteLock commitGate = new ReentrantReadWriteLock();
+    // Writers that entered and exited their commit; equal when none is in between
+    private final AtomicLong commitsEntered = new AtomicLong();
+    private final AtomicLong commitsExited = new AtomicLong();
+    private final TransactionTemplate snapshotTransaction;
+    private final EntityManager entityManager;
+    // Distinguishes ETags issued by different runs and instances, since versions are per process.
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    public DashboardCache(PlatformTransactionManager transactionManager,
+                          EntityManager entityManager,
+                          @Value("${dashboard.cache.maximum-weight:50000}") long maximumWeight,
+                          @Value("${dashboard.cache.ttl:10m}") Duration ttl) {
+        this.entityManager = entityManager;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((DashboardView view, DashboardSnapshot<?> snapshot) -> weigh(snapshot.value()))
+                .expireAfterWrite(ttl)
+                .build();
+        for (DashboardView view : DashboardView.values()) {
+            versions.put(view, new AtomicLong());
+        }
+    }
+
+    /**
+     * Returns the cached snapshot of the view, loading it on a miss.
+     * The loader runs in a read-only REPEATABLE READ transaction, so all of its queries see the same
+     * database state. A load that overlaps an invalidation is returned but not kept.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> DashboardSnapshot<T> get(DashboardView view, Supplier<T> loader) {
+        DashboardSnapshot<T> cached = (DashboardSnapshot<T>) cache.getIfPresent(view);
+        if (cached != null) {
+            return cached;
+        }
+
+        DashboardSnapshot<T> loaded = readSnapshot(view,
+                version -> new DashboardSnapshot<>(loader.get(), version, etag(view, version)));
+        cache.asMap().merge(view, loaded, (existing, candidate) ->
+                existing.version() >= candidate.version() ? existing : candidate);
+        if (versions.get(view).get() != loaded.version()) {
+            cache.asMap().remove(view, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Runs a reader in the same kind of pinned snapshot a load uses, without caching anything.
+     * The reader gets the version of the view its snapshot contains: every write announced with a
+     * higher version is missing from what it reads, every other one is included.
+     */
+    public <T> T readSnapshot(DashboardView view, LongFunction<T> reader) {
+        for (int attempt = 0; attempt < OPTIMISTIC_PIN_ATTEMPTS; attempt++) {
+            try {
+                return snapshotTransaction.execute(status -> reader.apply(pinSnapshotOptimistically(view)));
+            } catch (SnapshotRaced e) {
+                log.debug("Dashboard snapshot of {} raced a commit; retrying", view);
+            }
+        }
+        return snapshotTransaction.execute(status -> reader.apply(pinSnapshotExclusively(view)));
+    }
+
+    /**
+     * Returns a strong ETag for the current version of the view.
+     */
+    public String etag(DashboardView view) {
+        return etag(view, versions.get(view).get());
+    }
+
+    /**
+     * Must be called by a writer right before its transaction commits, and paired with {@link #exitCommit}.
+     */
+    public void enterCommit() {
+        commitGate.readLock().lock();
+        commitsEntered.incrementAndGet();
+    }
+
+    /**
+     * Called once a transaction that passed {@link #enterCommit} has completed, on the same thread.
+     *
+     * @param changed the views the transaction affected
+     * @param applied whether the transaction's changes may be visible (committed or unknown outcome)
+     * @return the version each changed view reached, empty if nothing was applied
+     */
+    public Map<DashboardView, Long> exitCommit(Collection<DashboardView> changed, boolean applied) {
+        try {
+            return applied ? invalidate(changed) : Map.of();
+        } finally {
+            // Only after the versions are bumped, so a load that sees no writer in between has both or neither
+            commitsExited.incrementAndGet();
+            commitGate.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bumps the versions of the given views and drops their cached values.
+     *
+     * @return the new version of each view
+     */
+    public Map<DashboardView, Long> invalidate(Collection<DashboardView> views) {
+        Map<DashboardView, Long> bumped = new EnumMap<>(DashboardView.class);
+        for (DashboardView view : views) {
+            bumped.put(view, versions.get(view).incrementAndGet());
+            cache.invalidate(view);
+        }
+        log.debug("Dashboard cache invalidated: {}", bumped);
+        return bumped;
+    }
+
+    public void invalidateAll() {
+        invalidate(versions.keySet());
+    }
+
+    /**
+     * Pins the snapshot without blocking writers, failing if a writer was between entering and exiting
+     * its commit at any point meanwhile: then the snapshot and the version may disagree about it.
+     */
+    private long pinSnapshotOptimistically(DashboardView view) {
+        long exited = commitsExited.get();
+        long entered = commitsEntered.get();
+        if (entered != exited) {
+            throw new SnapshotRaced();
+        }
+        long version = pin(view);
+        if (commitsEntered.get() != entered) {
+            throw new SnapshotRaced();
+        }
+        return version;
+    }
+
+    private long pinSnapshotExclusively(DashboardView view) {
+        commitGate.writeLock().lock();
+        try {
+            return pin(view);
+        } finally {
+            commitGate.writeLock().unlock();
+        }
+    }
+
+    private long pin(DashboardView view) {
+        // Under REPEATABLE READ the first statement fixes the snapshot every later query reads from
+        entityManager.createNativeQuery("SELECT 1").getSingleResult();
+        return versions.get(view).get();
+    }
+
+    private static int weigh(Object value) {
+        return value instanceof Collection<?> items ? items.size() + 1 : 1;
+    }
+
+    private String etag(DashboardView view, long version) {
+        return "\"" + view.name().toLowerCase() + "-" + epoch + "-" + version + "\"";
+    }
+
+    /**
+     * Aborts a snapshot transaction whose pin overlapped a commit.
+     */
+    private static class SnapshotRaced extends RuntimeException {
+        SnapshotRaced() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.expensemanager.dashboard;
+
+import com.expensemanager.dto.response.CategoryTotalResponse;
+import com.expensemanager.dto.response.ExpenseResponse;
+import com.expensemanager.stats.CategoryMonth;
+import com.expensemanager.stats.SpendSketch;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collects the dashboard-relevant effects of saved expenses for the current transaction
+ * and publishes a single {@link DashboardChangedEvent} once that transaction commits.
+ * A CSV upload therefore produces one event for the whole import instead of one per row,
+ * and rolled-back writes are never announced. What is kept per transaction is bounded:
+ * totals and sketches per category-month, and only the first {@link #MAX_EVENT_ANOMALIES} anomalies.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DashboardChangeTracker {
+
+    public static final int MAX_EVENT_ANOMALIES = 50;
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final DashboardCache dashboardCache;
+
+    /**
+     * Records a saved expense. Must be called after the entity has been persisted.
+     *
+     * @param expense the saved expense
+     */
+    public void recordSaved(ExpenseResponse expense) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            PendingChanges changes = new PendingChanges();
+            changes.add(expense);
+            publish(changes, dashboardCache.invalidate(changes.views()));
+            return;
+        }
+
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(new PublishOnCommit(pending));
+        }
+        pending.add(expense);
+    }
+
+    private void publish(PendingChanges changes, Map<DashboardView, Long> versions) {
+        log.debug("Publishing dashboard change: {} category-month deltas, {} new anomalies, versions {}",
+                changes.totals.size(), changes.anomalyCount, versions);
+        eventPublisher.publishEvent(changes.toEvent(versions));
+    }
+
+    private class PublishOnCommit implements TransactionSynchronization {
+
+        private final PendingChanges pending;
+        private boolean commitEntered;
+
+        PublishOnCommit(PendingChanges pending) {
+            this.pending = pending;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            dashboardCache.enterCommit();
+            commitEntered = true;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(DashboardChangeTracker.this);
+            if (!commitEntered) return;
+
+            // An unknown outcome may have committed: bump the versions so caches reload, but announce nothing
+            Map<DashboardView, Long> versions = dashboardCache.exitCommit(pending.views(), status != STATUS_ROLLED_BACK);
+            if (status == STATUS_COMMITTED) {
+                publish(pending, versions);
+            }
+        }
+    }
+
+    private static class PendingChanges {
+
+        private final Map<CategoryMonth, BigDecimal> totals = new LinkedHashMap<>();
+        private final Map<CategoryMonth, SpendSketch> sketches = new LinkedHashMap<>();
+        private final List<ExpenseResponse> anomalies = new ArrayList<>();
+        private long anomalyCount;
+
+        void add(ExpenseResponse expense) {
+            CategoryMonth key = CategoryMonth.of(expense.getCategory(), expense.getDate());
+            totals.merge(key, expense.getAmount(), BigDecimal::add);
+            sketches.computeIfAbsent(key, k -> new SpendSketch()).add(expense.getAmount());
+            if (expense.isAnomaly()) {
+                anomalyCount++;
+                if (anomalies.size() < MAX_EVENT_ANOMALIES) {
+                    anomalies.add(expense);
+                }
+            }
+        }
+
+        Set<DashboardView> views() {
+            Set<DashboardView> views = EnumSet.noneOf(DashboardView.class);
+            if (!totals.isEmpty()) {
+                views.add(DashboardView.MONTHLY_TOTALS);
+                views.add(DashboardView.TOP_VENDORS);
+            }
+            if (anomalyCount > 0) {
+                views.add(DashboardView.ANOMALIES);
+                views.add(DashboardView.ANOMALY_COUNT);
+            }
+            return views;
+        }
+
+        DashboardChangedEvent toEvent(Map<DashboardView, Long> versions) {
+            List<CategoryTotalResponse> deltas = totals.entrySet().stream()
+                    .map(entry -> new CategoryTotalResponse(
+                            entry.getKey().month().getYear(), entry.getKey().month().getMonthValue(),
+                            entry.getKey().category(), entry.getValue()))
+                    .toList();
+            return new DashboardChangedEvent(deltas, List.copyOf(anomalies), anomalyCount,
+                    Map.copyOf(sketches), Map.copyOf(versions));
+        }
+    }
+}
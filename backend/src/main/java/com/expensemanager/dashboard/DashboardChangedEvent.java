@@ -0,0 +1,34 @@
+package com.expensemanager.dashboard;
+
+import com.expensemanager.dto.response.CategoryTotalResponse;
+import com.expensemanager.dto.response.ExpenseResponse;
+import com.expensemanager.stats.CategoryMonth;
+import com.expensemanager.stats.SpendSketch;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Published once per committed transaction that saved expenses.
+ * Carries only what changed, so listeners never have to re-run the dashboard aggregates.
+ * Its size is bounded by the number of category-months touched, not by the number of expenses saved.
+ */
+@Getter
+@RequiredArgsConstructor
+public class DashboardChangedEvent {
+
+    private final List<CategoryTotalResponse> monthlyTotalDeltas;
+    /** The first new anomalies, at most {@link DashboardChangeTracker#MAX_EVENT_ANOMALIES}. */
+    private final List<ExpenseResponse> newAnomalies;
+    private final long newAnomalyCount;
+    /** Distribution of the amounts added per category and month. */
+    private final Map<CategoryMonth, SpendSketch> spendSketches;
+    /** The version each affected dashboard view reached with this change. */
+    private final Map<DashboardView, Long> versions;
+
+    public boolean isAnomaliesTruncated() {
+        return newAnomalyCount > newAnomalies.size();
+    }
+}
@@ -0,0 +1,14 @@
+package com.expensemanager.dashboard;
+
+import java.util.function.Function;
+
+/**
+ * A dashboard view's value together with the version it reflects: the value contains exactly the
+ * changes announced with a version up to and including {@code version}.
+ */
+public record DashboardSnapshot<T>(T value, long version, String etag) {
+
+    public <R> DashboardSnapshot<R> map(Function<T, R> mapper) {
+        return new DashboardSnapshot<>(mapper.apply(value), version, etag);
+    }
+}
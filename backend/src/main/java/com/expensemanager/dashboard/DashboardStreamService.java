@@ -0,0 +1,111 @@
+package com.expensemanager.dashboard;
+
+import com.expensemanager.dto.response.DashboardDeltaResponse;
+import com.expensemanager.dto.response.TopVendorResponse;
+import com.expensemanager.service.ExpenseService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Pushes dashboard deltas to connected clients over Server-Sent Events.
+ * Work per committed write is independent of the number of viewers: the only read is a single
+ * top-vendor refresh, and only when a write touched a vendor. It goes through {@link ExpenseService},
+ * so the ranking includes archived months and the reload is shared with REST readers. The ranking is always
+ * sent with its own snapshot version rather than compared with an earlier broadcast, so every client can
+ * tell whether it is newer than what it shows.
+ */
+@Slf4j
+@Service
+public class DashboardStreamService {
+
+    private static final String EVENT_NAME = "dashboard-delta";
+
+    private final ExpenseService expenseService;
+    private final long emitterTimeoutMs;
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dashboard-sse");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public DashboardStreamService(ExpenseService expenseService,
+                                  @Value("${dashboard.stream.timeout-ms:1800000}") long emitterTimeoutMs) {
+        this.expenseService = expenseService;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+    }
+
+    /**
+     * Registers a new client. The emitter is dropped on completion, timeout or send failure.
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> emitters.remove(emitter));
+        emitters.add(emitter);
+        log.debug("Dashboard stream subscribed; {} active subscribers", emitters.size());
+        return emitter;
+    }
+
+    @EventListener
+    public void onDashboardChanged(DashboardChangedEvent event) {
+        if (emitters.isEmpty()) {
+            return;
+        }
+        dispatcher.execute(() -> broadcast(event));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        emitters.forEach(SseEmitter::complete);
+    }
+
+    private void broadcast(DashboardChangedEvent event) {
+        DashboardDeltaResponse delta = DashboardDeltaResponse.builder()
+                .monthlyTotalDeltas(event.getMonthlyTotalDeltas())
+                .newAnomalies(event.getNewAnomalies())
+                .anomalyCountDelta(event.getNewAnomalyCount())
+                .anomaliesTruncated(event.isAnomaliesTruncated())
+                .versions(event.getVersions())
+                .build();
+        if (event.getVersions().containsKey(DashboardView.TOP_VENDORS)) {
+            withTopVendors(delta);
+        }
+
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().name(EVENT_NAME).data(delta));
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping dashboard subscriber: {}", e.getMessage());
+                emitters.remove(emitter);
+            }
+        }
+    }
+
+    /**
+     * Sends the current ranking under the version of the snapshot it was read from, which may be newer than
+     * the event's: clients apply it only if that version is newer than the ranking they already show.
+     */
+    private void withTopVendors(DashboardDeltaResponse delta) {
+        DashboardSnapshot<List<TopVendorResponse>> topVendors = expenseService.getTop5Vendors();
+        Map<DashboardView, Long> versions = new EnumMap<>(DashboardView.class);
+        versions.putAll(delta.getVersions());
+        versions.put(DashboardView.TOP_VENDORS, topVendors.version());
+        delta.setTopVendors(topVendors.value());
+        delta.setVersions(versions);
+    }
+}
@@ -0,0 +1,11 @@
+package com.expensemanager.dashboard;
+
+/**
+ * The independently cached and versioned dashboard read models.
+ */
+public enum DashboardView {
+    MONTHLY_TOTALS,
+    TOP_VENDORS,
+    ANOMALIES,
+    ANOMALY_COUNT
+}
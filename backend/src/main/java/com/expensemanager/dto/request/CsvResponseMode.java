@@ -0,0 +1,11 @@
+package com.expensemanager.dto.request;
+
+/**
+ * Controls how much detail a CSV upload returns.
+ * FULL echoes every saved expense and every error; SUMMARY returns counts, a capped
+ * error sample and links to page through the full results.
+ */
+public enum CsvResponseMode {
+    FULL,
+    SUMMARY
+}
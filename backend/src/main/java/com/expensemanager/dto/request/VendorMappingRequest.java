@@ -0,0 +1,20 @@
+package com.expensemanager.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VendorMappingRequest {
+
+    @NotBlank(message = "Vendor name is required")
+    @Size(max = 255, message = "Vendor name must not exceed 255 characters")
+    private String vendorName;
+
+    @NotBlank(message = "Category is required")
+    @Size(max = 255, message = "Category must not exceed 255 characters")
+    private String category;
+}
@@ -0,0 +1,19 @@
+package com.expensemanager.dto.response;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchiveSegmentResponse {
+    private int year;
+    private int month;
+    private int rowCount;
+    private int anomalyCount;
+    private BigDecimal total;
+    private long fileSizeBytes;
+}
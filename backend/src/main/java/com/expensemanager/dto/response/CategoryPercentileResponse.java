@@ -0,0 +1,20 @@
+package com.expensemanager.dto.response;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CategoryPercentileResponse {
+    private int year;
+    private int month;
+    private String category;
+    private long count;
+    private BigDecimal p50;
+    private BigDecimal p90;
+    private BigDecimal p99;
+}
@@ -0,0 +1,13 @@
+package com.expensemanager.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CsvImportErrorResponse {
+    private int rowNumber;
+    private String message;
+}
@@ -1,18 +1,26 @@
 package com.expensemanager.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
 import java.util.List;
+import java.util.UUID;
 
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class CsvUploadResponse {
+    private UUID importId;
     private int totalRows;
     private int successCount;
     private int failureCount;
+    /** All errors in FULL mode; at most the first few in SUMMARY mode. */
     private List<String> errors;
+    /** Omitted in SUMMARY mode. */
     private List<ExpenseResponse> savedExpenses;
+    private String expensesUrl;
+    private String errorsUrl;
 }
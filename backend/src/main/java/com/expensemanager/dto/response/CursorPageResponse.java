@@ -0,0 +1,16 @@
+package com.expensemanager.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageResponse<T> {
+    private List<T> content;
+    /** Opaque cursor for the next page; null on the last page. */
+    private String nextCursor;
+}
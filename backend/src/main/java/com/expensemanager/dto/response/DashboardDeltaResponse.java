@@ -0,0 +1,24 @@
+package com.expensemanager.dto.response;
+
+import com.expensemanager.dashboard.DashboardView;
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DashboardDeltaResponse {
+    private List<CategoryTotalResponse> monthlyTotalDeltas;
+    private List<ExpenseResponse> newAnomalies;
+    private long anomalyCountDelta;
+    // More anomalies were added than listed; the client should refetch the anomaly list
+    private boolean anomaliesTruncated;
+    // Full ranking, read after the write; its entry in versions is the version of that read
+    private List<TopVendorResponse> topVendors;
+    // Per affected view, the version this delta brings it to; snapshots at or above it already contain it
+    private Map<DashboardView, Long> versions;
+}
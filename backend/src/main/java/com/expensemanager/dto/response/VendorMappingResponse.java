@@ -0,0 +1,13 @@
+package com.expensemanager.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VendorMappingResponse {
+    private String vendorName;
+    private String category;
+}
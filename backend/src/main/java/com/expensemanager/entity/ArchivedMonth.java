@@ -0,0 +1,34 @@
+package com.expensemanager.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Record of a sealed month and the segment file holding its rows. The month is the primary key,
+ * so two instances sealing the same month cannot both commit.
+ */
+@Entity
+@Table(name = "archived_months")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedMonth {
+
+    /** The sealed month, as {@code yyyy-MM}. */
+    @Id
+    @Column(length = 7)
+    private String month;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    @Column(nullable = false)
+    private long rowCount;
+
+    @Column(nullable = false)
+    private LocalDateTime sealedAt;
+}
@@ -0,0 +1,31 @@
+package com.expensemanager.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+@Entity
+@Table(name = "csv_import_errors", indexes = {
+        @Index(name = "idx_import_error_import_row", columnList = "importId, rowNumber")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CsvImportError {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID importId;
+
+    @Column(nullable = false)
+    private int rowNumber;
+
+    @Column(nullable = false, length = 1000)
+    private String message;
+}
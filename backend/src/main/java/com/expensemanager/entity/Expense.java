@@ -13,7 +13,8 @@ import java.util.UUID;
 @Table(name = "expenses", indexes = {
         @Index(name = "idx_expense_category", columnList = "category"),
         @Index(name = "idx_expense_date", columnList = "date"),
-        @Index(name = "idx_expense_vendor", columnList = "vendorName")
+        @Index(name = "idx_expense_vendor", columnList = "vendorName"),
+        @Index(name = "idx_expense_import_row", columnList = "importId, importRowNumber")
 })
 @Getter
 @Setter
@@ -43,6 +44,16 @@ public class Expense {
     @Column(nullable = false)
     private boolean isAnomaly;
 
+    /**
+     * Set for rows created by a CSV upload, so the upload's results can be paged later.
+     */
+    private UUID importId;
+
+    /**
+     * The CSV row the expense came from, so import results page in file order.
+     */
+    private Integer importRowNumber;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,13 @@
+package com.expensemanager.repository;
+
+import com.expensemanager.entity.ArchivedMonth;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ArchivedMonthRepository extends JpaRepository<ArchivedMonth, String> {
+
+    List<ArchivedMonth> findAllByOrderByMonthAsc();
+}
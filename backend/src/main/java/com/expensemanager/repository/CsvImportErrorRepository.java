@@ -0,0 +1,17 @@
+package com.expensemanager.repository;
+
+import com.expensemanager.entity.CsvImportError;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface CsvImportErrorRepository extends JpaRepository<CsvImportError, UUID> {
+
+    Page<CsvImportError> findByImportIdOrderByRowNumber(UUID importId, Pageable pageable);
+
+    boolean existsByImportId(UUID importId);
+}
@@ -1,25 +1,33 @@
 package com.expensemanager.repository;
 
+import com.expensemanager.anomaly.CategoryStats;
 import com.expensemanager.dto.response.CategoryTotalResponse;
 import com.expensemanager.dto.response.TopVendorResponse;
 import com.expensemanager.entity.Expense;
+import com.expensemanager.stats.CategoryAmount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface ExpenseRepository extends JpaRepository<Expense, UUID> {
 
     /**
-     * Calculates the average expense amount for a given category.
+     * Returns the count and sum of expense amounts for a given category.
      */
-    @Query("SELECT AVG(e.amount) FROM Expense e WHERE e.category = :category")
-    Optional<BigDecimal> findAverageAmountByCategory(String category);
+    @Query("SELECT new com.expensemanager.anomaly.CategoryStats(COUNT(e), SUM(e.amount)) FROM Expense e WHERE e.category = :category")
+    CategoryStats findStatsByCategory(String category);
 
     /**
      * Returns monthly totals grouped by year, month, and category.
@@ -48,6 +56,42 @@ public interface ExpenseRepository extends JpaRepository<Expense, UUID> {
             """)
     List<TopVendorResponse> findTop5VendorsByTotalSpend();
 
+    /**
+     * Returns the total spend of every vendor, for merging with archived totals.
+     */
+    @Query("""
+            SELECT new com.expensemanager.dto.response.TopVendorResponse(
+                e.vendorName, SUM(e.amount)
+            )
+            FROM Expense e
+            GROUP BY e.vendorName
+            """)
+    List<TopVendorResponse> findTotalSpendPerVendor();
+
+    /**
+     * Streams category, date and amount of every expense, for rebuilding spend sketches.
+     * Must be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.expensemanager.stats.CategoryAmount(e.category, e.date, e.amount) FROM Expense e")
+    Stream<CategoryAmount> streamCategoryAmounts();
+
+    /**
+     * Streams the expenses of a date range in insertion order, used to seal a month into the archive.
+     * Must be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<Expense> streamByDateBetweenOrderByDateAscCreatedAtAsc(LocalDate start, LocalDate end);
+
+    /**
+     * Deletes the expenses of a date range visible to the current transaction.
+     *
+     * @return the number of rows deleted
+     */
+    @Modifying
+    @Query("DELETE FROM Expense e WHERE e.date BETWEEN :start AND :end")
+    int deleteByDateBetween(LocalDate start, LocalDate end);
+
     /**
      * Returns all expenses flagged as anomalies.
      */
@@ -57,4 +101,31 @@ public interface ExpenseRepository extends JpaRepository<Expense, UUID> {
      * Counts all anomalous expenses.
      */
     long countByIsAnomalyTrue();
+
+    /**
+     * Returns the expenses created by a CSV upload, oldest first.
+     */
+    Page<Expense> findByImportIdOrderByImportRowNumberAsc(UUID importId, Pageable pageable);
+
+    boolean existsByImportId(UUID importId);
+
+    /**
+     * Ranks expenses whose vendor name or description contains the pattern, nearest first by trigram word
+     * distance ({@code <<->}, 1 - word_similarity). The GiST trigram index over the same expression serves
+     * both the ILIKE filter and the ordering, so a page walks the index up to its position instead of
+     * scoring and sorting every match. Keyset-paginated on (distance, id): pass the last hit of the previous
+     * page, or a negative distance for the first page.
+     */
+    @Query(value = """
+            SELECT CAST(e.id AS varchar) AS id,
+                   CAST(:query <<-> (e.vendor_name || E'\\n' || COALESCE(e.description, '')) AS double precision) AS distance
+            FROM expenses e
+            WHERE (e.vendor_name || E'\\n' || COALESCE(e.description, '')) ILIKE :pattern
+              AND (CAST(:query <<-> (e.vendor_name || E'\\n' || COALESCE(e.description, '')) AS double precision) > :afterDistance
+                   OR (CAST(:query <<-> (e.vendor_name || E'\\n' || COALESCE(e.description, '')) AS double precision) = :afterDistance
+                       AND e.id > CAST(:afterId AS uuid)))
+            ORDER BY :query <<-> (e.vendor_name || E'\\n' || COALESCE(e.description, '')), e.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<ExpenseSearchHit> searchByText(String query, String pattern, double afterDistance, String afterId, int limit);
 }
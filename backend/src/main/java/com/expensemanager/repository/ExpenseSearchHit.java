@@ -0,0 +1,12 @@
+package com.expensemanager.repository;
+
+/**
+ * One ranked row of a text search: the expense id (as text) and its database-computed trigram distance
+ * (0 is the best match).
+ */
+public interface ExpenseSearchHit {
+
+    String getId();
+
+    Double getDistance();
+}
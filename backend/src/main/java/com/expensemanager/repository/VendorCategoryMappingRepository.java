@@ -2,8 +2,11 @@ package com.expensemanager.repository;
 
 import com.expensemanager.entity.VendorCategoryMapping;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,4 +14,10 @@ import java.util.UUID;
 public interface VendorCategoryMappingRepository extends JpaRepository<VendorCategoryMapping, UUID> {
 
     Optional<VendorCategoryMapping> findByVendorNameIgnoreCase(String vendorName);
+
+    /**
+     * Returns the mappings whose lower-cased vendor name is in the given (already lower-cased) names.
+     */
+    @Query("SELECT m FROM VendorCategoryMapping m WHERE LOWER(m.vendorName) IN :vendorNames")
+    List<VendorCategoryMapping> findByLowerCaseVendorNameIn(Collection<String> vendorNames);
 }
@@ -1,22 +1,37 @@
 package com.expensemanager.service;
 
+import com.expensemanager.dashboard.DashboardSnapshot;
+import com.expensemanager.dashboard.DashboardView;
+import com.expensemanager.dto.request.CsvResponseMode;
 import com.expensemanager.dto.request.ExpenseRequest;
 import com.expensemanager.dto.response.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.UUID;
 
 public interface ExpenseService {
 
     ExpenseResponse addExpense(ExpenseRequest request);
 
-    CsvUploadResponse uploadCsv(MultipartFile file);
+    CsvUploadResponse uploadCsv(MultipartFile file, CsvResponseMode mode);
 
-    List<CategoryTotalResponse> getMonthlyTotalsPerCategory();
+    PageResponse<ExpenseResponse> getImportedExpenses(UUID importId, int page, int size);
 
-    List<TopVendorResponse> getTop5Vendors();
+    PageResponse<CsvImportErrorResponse> getImportErrors(UUID importId, int page, int size);
 
-    List<ExpenseResponse> getAnomalies();
+    CursorPageResponse<ExpenseResponse> searchExpenses(String query, String cursor, int size);
 
-    long getAnomalyCount();
+    DashboardSnapshot<List<CategoryTotalResponse>> getMonthlyTotalsPerCategory();
+
+    DashboardSnapshot<List<TopVendorResponse>> getTop5Vendors();
+
+    DashboardSnapshot<List<ExpenseResponse>> getAnomalies();
+
+    DashboardSnapshot<Long> getAnomalyCount();
+
+    /**
+     * Returns an ETag that changes whenever the given dashboard view changes.
+     */
+    String getDashboardETag(DashboardView view);
 }
@@ -0,0 +1,18 @@
+package com.expensemanager.service;
+
+import com.expensemanager.dto.request.VendorMappingRequest;
+import com.expensemanager.dto.response.VendorMappingResponse;
+
+import java.util.List;
+import java.util.Map;
+
+public interface VendorMappingService {
+
+    List<VendorMappingResponse> getAllMappings();
+
+    VendorMappingResponse saveMapping(VendorMappingRequest request);
+
+    void deleteMapping(String vendorName);
+
+    Map<String, String> classify(List<String> vendorNames);
+}
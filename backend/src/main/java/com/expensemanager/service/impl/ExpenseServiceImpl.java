@@ -1,30 +1,58 @@
 package com.expensemanager.service.impl;
 
 import com.expensemanager.anomaly.AnomalyDetectionService;
+import com.expensemanager.archive.ArchivedSegments;
+import com.expensemanager.archive.SegmentArchiveService;
+import com.expensemanager.batch.ExpenseGroupCommitter;
+import com.expensemanager.dashboard.DashboardCache;
+import com.expensemanager.dashboard.DashboardChangeTracker;
+import com.expensemanager.dashboard.DashboardSnapshot;
+import com.expensemanager.dashboard.DashboardView;
+import com.expensemanager.dto.request.CsvResponseMode;
 import com.expensemanager.dto.request.ExpenseRequest;
 import com.expensemanager.dto.response.*;
+import com.expensemanager.entity.CsvImportError;
 import com.expensemanager.entity.Expense;
+import com.expensemanager.exception.BadRequestException;
 import com.expensemanager.exception.CsvParseException;
+import com.expensemanager.exception.ResourceNotFoundException;
+import com.expensemanager.exception.ServiceUnavailableException;
 import com.expensemanager.mapper.ExpenseMapper;
+import com.expensemanager.repository.CsvImportErrorRepository;
 import com.expensemanager.repository.ExpenseRepository;
+import com.expensemanager.repository.ExpenseSearchHit;
 import com.expensemanager.service.ExpenseService;
 import com.expensemanager.strategy.CategorizationStrategy;
 import com.opencsv.CSVReader;
 import com.opencsv.exceptions.CsvException;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -33,114 +61,309 @@ public class ExpenseServiceImpl implements ExpenseService {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private static final int CSV_EXPECTED_COLUMNS = 4;
+    private static final int CSV_CHUNK_SIZE = 500;
+    private static final int CSV_ERROR_SAMPLE_SIZE = 20;
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 1000;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int TOP_VENDOR_LIMIT = 5;
+    private static final int MIN_SEARCH_LENGTH = 3;
+    private static final int MAX_SEARCH_LENGTH = 100;
+    // Trigram distances are in [0, 1], so this keyset position precedes every hit
+    private static final double FIRST_PAGE_DISTANCE = -1.0;
+    private static final String FIRST_PAGE_ID = "00000000-0000-0000-0000-000000000000";
+    // PostgreSQL "undefined_function", raised for the <<-> operator when pg_trgm is not installed
+    private static final String UNDEFINED_FUNCTION = "42883";
 
     private final ExpenseRepository expenseRepository;
+    private final CsvImportErrorRepository csvImportErrorRepository;
+    private final EntityManager entityManager;
     private final ExpenseMapper expenseMapper;
     private final CategorizationStrategy categorizationStrategy;
     private final AnomalyDetectionService anomalyDetectionService;
+    private final DashboardChangeTracker dashboardChangeTracker;
+    private final DashboardCache dashboardCache;
+    private final SegmentArchiveService segmentArchiveService;
+    private final ExpenseGroupCommitter expenseGroupCommitter;
+    private final TransactionTemplate transactionTemplate;
 
+    // Not @Transactional: with group commit the caller waits for a shared batch transaction and must not
+    // hold a connection of its own meanwhile
     @Override
-    @Transactional
     public ExpenseResponse addExpense(ExpenseRequest request) {
-        log.info("Adding expense for vendor '{}' with amount {}", request.getVendorName(), request.getAmount());
-
-        String category = categorizationStrategy.categorize(request.getVendorName());
-        boolean isAnomaly = anomalyDetectionService.isAnomaly(category, request.getAmount());
-
-        Expense expense = expenseMapper.toEntity(request, category, isAnomaly);
-        Expense saved = expenseRepository.save(expense);
-
-        log.info("Expense saved with id={}, category='{}', isAnomaly={}", saved.getId(), category, isAnomaly);
-        return expenseMapper.toResponse(saved);
+        return expenseGroupCommitter.submit(request)
+                .orElseGet(() -> transactionTemplate.execute(status -> saveExpense(request)));
     }
 
     @Override
     @Transactional
-    public CsvUploadResponse uploadCsv(MultipartFile file) {
-        log.info("Processing CSV upload: filename={}, size={}", file.getOriginalFilename(), file.getSize());
+    public CsvUploadResponse uploadCsv(MultipartFile file, CsvResponseMode mode) {
+        log.info("Processing CSV upload: filename={}, size={}, mode={}", file.getOriginalFilename(), file.getSize(), mode);
 
         if (file.isEmpty()) {
             throw new CsvParseException("Uploaded CSV file is empty.");
         }
 
-        List<String[]> rows = parseCsv(file);
+        CsvImportState state = new CsvImportState(UUID.randomUUID(), mode == CsvResponseMode.SUMMARY);
+        List<CsvRow> chunk = new ArrayList<>(CSV_CHUNK_SIZE);
 
-        List<ExpenseResponse> savedExpenses = new ArrayList<>();
-        List<String> errors = new ArrayList<>();
-        int successCount = 0;
-        int failureCount = 0;
+        // Rows are streamed rather than read up front. Together with the per-chunk flush and the bounded
+        // DashboardChangeTracker, memory stays flat regardless of file size in SUMMARY mode
+        try (CSVReader reader = new CSVReader(new InputStreamReader(file.getInputStream()))) {
+            String[] row;
+            int rowNumber = 0;
+            while ((row = reader.readNext()) != null) {
+                rowNumber++;
 
-        // Skip header row if present
-        int startIndex = isHeaderRow(rows) ? 1 : 0;
+                // Skip header row if present
+                if (rowNumber == 1 && isHeaderRow(row)) {
+                    continue;
+                }
 
-        for (int i = startIndex; i < rows.size(); i++) {
-            String[] row = rows.get(i);
-            int rowNumber = i + 1;
+                try {
+                    chunk.add(new CsvRow(rowNumber, parseRowToRequest(row, rowNumber), null));
+                } catch (Exception e) {
+                    chunk.add(new CsvRow(rowNumber, null, e.getMessage()));
+                }
 
-            try {
-                ExpenseRequest request = parseRowToRequest(row, rowNumber);
-                ExpenseResponse response = addExpense(request);
-                savedExpenses.add(response);
-                successCount++;
-            } catch (Exception e) {
-                log.warn("Failed to process CSV row {}: {}", rowNumber, e.getMessage());
-                errors.add(String.format("Row %d: %s", rowNumber, e.getMessage()));
-                failureCount++;
+                if (chunk.size() == CSV_CHUNK_SIZE) {
+                    processChunk(chunk, state);
+                }
             }
+        } catch (IOException | CsvException e) {
+            throw new CsvParseException("Failed to parse CSV file: " + e.getMessage(), e);
         }
+        processChunk(chunk, state);
 
-        int totalRows = rows.size() - startIndex;
-        log.info("CSV processing complete: total={}, success={}, failure={}", totalRows, successCount, failureCount);
+        log.info("CSV processing complete: importId={}, total={}, success={}, failure={}",
+                state.importId, state.totalRows, state.successCount, state.failureCount);
 
         return CsvUploadResponse.builder()
-                .totalRows(totalRows)
-                .successCount(successCount)
-                .failureCount(failureCount)
-                .errors(errors)
-                .savedExpenses(savedExpenses)
+                .importId(state.importId)
+                .totalRows(state.totalRows)
+                .successCount(state.successCount)
+                .failureCount(state.failureCount)
+                .errors(state.errors)
+                .savedExpenses(state.savedExpenses)
                 .build();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<CategoryTotalResponse> getMonthlyTotalsPerCategory() {
-        return expenseRepository.findMonthlyTotalsPerCategory();
+    public PageResponse<ExpenseResponse> getImportedExpenses(UUID importId, int page, int size) {
+        Page<Expense> expenses = expenseRepository.findByImportIdOrderByImportRowNumberAsc(importId, pageRequest(page, size));
+        if (expenses.isEmpty() && page == 0 && !csvImportErrorRepository.existsByImportId(importId)) {
+            throw new ResourceNotFoundException("No CSV import found with id " + importId);
+        }
+        return toPageResponse(expenses.map(expenseMapper::toResponse));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<TopVendorResponse> getTop5Vendors() {
-        return expenseRepository.findTop5VendorsByTotalSpend();
+    public PageResponse<CsvImportErrorResponse> getImportErrors(UUID importId, int page, int size) {
+        Page<CsvImportError> importErrors = csvImportErrorRepository.findByImportIdOrderByRowNumber(importId, pageRequest(page, size));
+        if (importErrors.isEmpty() && page == 0 && !expenseRepository.existsByImportId(importId)) {
+            throw new ResourceNotFoundException("No CSV import found with id " + importId);
+        }
+        return toPageResponse(importErrors.map(error -> CsvImportErrorResponse.builder()
+                .rowNumber(error.getRowNumber())
+                .message(error.getMessage())
+                .build()));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ExpenseResponse> getAnomalies() {
-        return expenseRepository.findByIsAnomalyTrueOrderByDateDesc()
-                .stream()
+    public CursorPageResponse<ExpenseResponse> searchExpenses(String query, String cursor, int size) {
+        String trimmed = query == null ? "" : query.trim();
+        if (trimmed.length() < MIN_SEARCH_LENGTH || trimmed.length() > MAX_SEARCH_LENGTH) {
+            throw new BadRequestException(String.format(
+                    "Search query must be between %d and %d characters.", MIN_SEARCH_LENGTH, MAX_SEARCH_LENGTH));
+        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        double afterDistance = FIRST_PAGE_DISTANCE;
+        String afterId = FIRST_PAGE_ID;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] position = decodeCursor(cursor);
+            afterDistance = Double.parseDouble(position[0]);
+            afterId = position[1];
+        }
+
+        // Fetch one extra hit to know whether another page exists
+        List<ExpenseSearchHit> hits;
+        try {
+            hits = expenseRepository.searchByText(
+                    trimmed, "%" + escapeLike(trimmed) + "%", afterDistance, afterId, pageSize + 1);
+        } catch (DataAccessException e) {
+            if (hasSqlState(e, UNDEFINED_FUNCTION)) {
+                throw new ServiceUnavailableException("Search is unavailable: the pg_trgm PostgreSQL extension is not "
+                        + "installed. Run db/migrations/001_search_trigram_index.sql.");
+            }
+            throw e;
+        }
+        boolean hasMore = hits.size() > pageSize;
+        List<ExpenseSearchHit> page = hasMore ? hits.subList(0, pageSize) : hits;
+
+        Map<UUID, Expense> expensesById = new HashMap<>();
+        expenseRepository.findAllById(page.stream().map(hit -> UUID.fromString(hit.getId())).toList())
+                .forEach(expense -> expensesById.put(expense.getId(), expense));
+        List<ExpenseResponse> content = page.stream()
+                .map(hit -> expensesById.get(UUID.fromString(hit.getId())))
+                .filter(Objects::nonNull)
                 .map(expenseMapper::toResponse)
                 .toList();
+
+        ExpenseSearchHit last = page.isEmpty() ? null : page.get(page.size() - 1);
+        return CursorPageResponse.<ExpenseResponse>builder()
+                .content(content)
+                .nextCursor(hasMore ? encodeCursor(last.getDistance(), last.getId()) : null)
+                .build();
     }
 
+    // Dashboard reads are served from DashboardCache and deliberately run outside a service-level
+    // transaction, so a cache hit never checks out a connection. Misses run in the cache's own
+    // snapshot transaction. Each view combines the live table with the archived month segments, both read
+    // in that snapshot, so a month sealed by any instance is counted exactly once.
+
     @Override
-    @Transactional(readOnly = true)
-    public long getAnomalyCount() {
-        return expenseRepository.countByIsAnomalyTrue();
+    public DashboardSnapshot<List<CategoryTotalResponse>> getMonthlyTotalsPerCategory() {
+        return dashboardCache.get(DashboardView.MONTHLY_TOTALS, () ->
+                segmentArchiveService.current().withMonthlyTotals(expenseRepository.findMonthlyTotalsPerCategory()));
+    }
+
+    @Override
+    public DashboardSnapshot<List<TopVendorResponse>> getTop5Vendors() {
+        return dashboardCache.get(DashboardView.TOP_VENDORS, () -> {
+            ArchivedSegments archive = segmentArchiveService.current();
+            return archive.isEmpty()
+                    ? expenseRepository.findTop5VendorsByTotalSpend()
+                    : archive.topVendors(expenseRepository.findTotalSpendPerVendor(), TOP_VENDOR_LIMIT);
+        });
+    }
+
+    @Override
+    public DashboardSnapshot<List<ExpenseResponse>> getAnomalies() {
+        return dashboardCache.get(DashboardView.ANOMALIES, () -> Stream.concat(
+                        expenseRepository.findByIsAnomalyTrueOrderByDateDesc().stream(),
+                        segmentArchiveService.current().anomalies().stream())
+                .sorted(Comparator.comparing(Expense::getDate).reversed())
+                .map(expenseMapper::toResponse)
+                .toList());
+    }
+
+    @Override
+    public DashboardSnapshot<Long> getAnomalyCount() {
+        return dashboardCache.get(DashboardView.ANOMALY_COUNT, () ->
+                expenseRepository.countByIsAnomalyTrue() + segmentArchiveService.current().anomalyCount());
+    }
+
+    @Override
+    public String getDashboardETag(DashboardView view) {
+        return dashboardCache.etag(view);
     }
 
     // ---- Private helpers ----
 
-    private List<String[]> parseCsv(MultipartFile file) {
-        try (CSVReader reader = new CSVReader(new InputStreamReader(file.getInputStream()))) {
-            return reader.readAll();
-        } catch (IOException | CsvException e) {
-            throw new CsvParseException("Failed to parse CSV file: " + e.getMessage(), e);
+    private ExpenseResponse saveExpense(ExpenseRequest request) {
+        log.info("Adding expense for vendor '{}' with amount {}", request.getVendorName(), request.getAmount());
+        return saveExpense(request, categorizationStrategy.categorize(request.getVendorName()), null, null);
+    }
+
+    private ExpenseResponse saveExpense(ExpenseRequest request, String category, UUID importId, Integer rowNumber) {
+        boolean isAnomaly = anomalyDetectionService.isAnomaly(category, request.getAmount());
+
+        Expense expense = expenseMapper.toEntity(request, category, isAnomaly);
+        expense.setImportId(importId);
+        expense.setImportRowNumber(rowNumber);
+        Expense saved = expenseRepository.save(expense);
+
+        log.info("Expense saved with id={}, category='{}', isAnomaly={}", saved.getId(), category, isAnomaly);
+        ExpenseResponse response = expenseMapper.toResponse(saved);
+        dashboardChangeTracker.recordSaved(response);
+        return response;
+    }
+
+    /**
+     * Saves one chunk of parsed CSV rows. Vendors are categorized in bulk, then buffered row errors
+     * are persisted and everything saved so far is detached, so the persistence context does not
+     * grow with the size of the upload.
+     */
+    private void processChunk(List<CsvRow> chunk, CsvImportState state) {
+        Map<String, String> categories = categorizationStrategy.categorizeAll(chunk.stream()
+                .filter(row -> row.request() != null)
+                .map(row -> row.request().getVendorName())
+                .distinct()
+                .toList());
+
+        for (CsvRow row : chunk) {
+            state.totalRows++;
+            if (row.error() != null) {
+                state.recordFailure(row.rowNumber(), row.error());
+                continue;
+            }
+            try {
+                ExpenseResponse response = saveExpense(
+                        row.request(), categories.get(row.request().getVendorName()), state.importId, row.rowNumber());
+                if (state.savedExpenses != null) {
+                    state.savedExpenses.add(response);
+                }
+                state.successCount++;
+            } catch (Exception e) {
+                state.recordFailure(row.rowNumber(), e.getMessage());
+            }
+        }
+        chunk.clear();
+
+        csvImportErrorRepository.saveAll(state.pendingErrors);
+        state.pendingErrors.clear();
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private PageRequest pageRequest(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+    }
+
+    private <T> PageResponse<T> toPageResponse(Page<T> page) {
+        return PageResponse.<T>builder()
+                .content(page.getContent())
+                .page(page.getNumber())
+                .size(page.getSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .build();
+    }
+
+    private String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static boolean hasSqlState(Throwable error, String sqlState) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql && sqlState.equals(sql.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String encodeCursor(double distance, String id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((distance + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 2);
+            Double.parseDouble(position[0]);
+            UUID.fromString(position[1]);
+            return position;
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid search cursor.");
         }
     }
 
-    private boolean isHeaderRow(List<String[]> rows) {
-        if (rows.isEmpty()) return false;
-        String firstCell = rows.get(0)[0].trim().toLowerCase();
+    private boolean isHeaderRow(String[] row) {
+        String firstCell = row[0].trim().toLowerCase();
         return firstCell.equals("date") || firstCell.equals("\"date\"");
     }
 
@@ -183,4 +406,43 @@ public class ExpenseServiceImpl implements ExpenseService {
                 .description(description)
                 .build();
     }
+
+    private record CsvRow(int rowNumber, ExpenseRequest request, String error) {
+    }
+
+    /**
+     * Running totals of one CSV upload. Only a sample of errors is kept in memory in SUMMARY mode;
+     * all of them are persisted chunk by chunk.
+     */
+    private static class CsvImportState {
+
+        private final UUID importId;
+        private final boolean summary;
+        private final List<ExpenseResponse> savedExpenses;
+        private final List<String> errors = new ArrayList<>();
+        private final List<CsvImportError> pendingErrors = new ArrayList<>();
+        private int totalRows;
+        private int successCount;
+        private int failureCount;
+
+        CsvImportState(UUID importId, boolean summary) {
+            this.importId = importId;
+            this.summary = summary;
+            this.savedExpenses = summary ? null : new ArrayList<>();
+        }
+
+        void recordFailure(int rowNumber, String message) {
+            String text = message == null ? "Unknown error" : message;
+            log.warn("Failed to process CSV row {}: {}", rowNumber, text);
+            if (!summary || errors.size() < CSV_ERROR_SAMPLE_SIZE) {
+                errors.add(String.format("Row %d: %s", rowNumber, text));
+            }
+            pendingErrors.add(CsvImportError.builder()
+                    .importId(importId)
+                    .rowNumber(rowNumber)
+                    .message(text.length() > MAX_ERROR_MESSAGE_LENGTH ? text.substring(0, MAX_ERROR_MESSAGE_LENGTH) : text)
+                    .build());
+            failureCount++;
+        }
+    }
 }
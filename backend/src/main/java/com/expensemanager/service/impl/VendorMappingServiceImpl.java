@@ -0,0 +1,85 @@
+package com.expensemanager.service.impl;
+
+import com.expensemanager.dto.request.VendorMappingRequest;
+import com.expensemanager.dto.response.VendorMappingResponse;
+import com.expensemanager.entity.VendorCategoryMapping;
+import com.expensemanager.exception.BadRequestException;
+import com.expensemanager.exception.ResourceNotFoundException;
+import com.expensemanager.repository.VendorCategoryMappingRepository;
+import com.expensemanager.service.VendorMappingService;
+import com.expensemanager.strategy.CategorizationStrategy;
+import com.expensemanager.strategy.VendorMappingChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VendorMappingServiceImpl implements VendorMappingService {
+
+    private static final int MAX_CLASSIFY_NAMES = 1000;
+
+    private final VendorCategoryMappingRepository vendorCategoryMappingRepository;
+    private final CategorizationStrategy categorizationStrategy;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<VendorMappingResponse> getAllMappings() {
+        return vendorCategoryMappingRepository.findAll()
+                .stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public VendorMappingResponse saveMapping(VendorMappingRequest request) {
+        String vendorName = request.getVendorName().trim();
+        String category = request.getCategory().trim();
+
+        VendorCategoryMapping mapping = vendorCategoryMappingRepository.findByVendorNameIgnoreCase(vendorName)
+                .orElseGet(() -> VendorCategoryMapping.builder().vendorName(vendorName).build());
+        mapping.setCategory(category);
+        VendorCategoryMapping saved = vendorCategoryMappingRepository.save(mapping);
+
+        log.info("Vendor '{}' mapped to category '{}'", saved.getVendorName(), category);
+        eventPublisher.publishEvent(new VendorMappingChangedEvent(saved.getVendorName(), category));
+        return toResponse(saved);
+    }
+
+    @Override
+    @Transactional
+    public void deleteMapping(String vendorName) {
+        VendorCategoryMapping mapping = vendorCategoryMappingRepository.findByVendorNameIgnoreCase(vendorName.trim())
+                .orElseThrow(() -> new ResourceNotFoundException("No mapping found for vendor '" + vendorName + "'"));
+        vendorCategoryMappingRepository.delete(mapping);
+
+        log.info("Mapping for vendor '{}' removed", mapping.getVendorName());
+        eventPublisher.publishEvent(new VendorMappingChangedEvent(mapping.getVendorName(), null));
+    }
+
+    @Override
+    public Map<String, String> classify(List<String> vendorNames) {
+        if (vendorNames == null || vendorNames.size() > MAX_CLASSIFY_NAMES) {
+            throw new BadRequestException("Provide a list of at most " + MAX_CLASSIFY_NAMES + " vendor names.");
+        }
+        if (vendorNames.stream().anyMatch(name -> name == null || name.isBlank())) {
+            throw new BadRequestException("Vendor names must not be null or blank.");
+        }
+        return categorizationStrategy.categorizeAll(vendorNames);
+    }
+
+    private VendorMappingResponse toResponse(VendorCategoryMapping mapping) {
+        return VendorMappingResponse.builder()
+                .vendorName(mapping.getVendorName())
+                .category(mapping.getCategory())
+                .build();
+    }
+}
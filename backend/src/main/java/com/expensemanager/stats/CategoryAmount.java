@@ -0,0 +1,10 @@
+package com.expensemanager.stats;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Minimal projection of an expense used to rebuild spend sketches without loading entities.
+ */
+public record CategoryAmount(String category, LocalDate date, BigDecimal amount) {
+}
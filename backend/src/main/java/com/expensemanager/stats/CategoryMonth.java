@@ -0,0 +1,14 @@
+package com.expensemanager.stats;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Key of a per-category, per-month statistic.
+ */
+public record CategoryMonth(String category, YearMonth month) {
+
+    public static CategoryMonth of(String category, LocalDate date) {
+        return new CategoryMonth(category, YearMonth.from(date));
+    }
+}
@@ -0,0 +1,184 @@
+package com.expensemanager.stats;
+
+import com.expensemanager.archive.ExpenseSegment;
+import com.expensemanager.archive.SegmentArchiveService;
+import com.expensemanager.dashboard.DashboardCache;
+import com.expensemanager.dashboard.DashboardChangedEvent;
+import com.expensemanager.dashboard.DashboardView;
+import com.expensemanager.dto.response.CategoryPercentileResponse;
+import com.expensemanager.entity.Expense;
+import com.expensemanager.repository.ExpenseRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Keeps a {@link SpendSketch} per category and month, so spend percentiles are answered in constant time
+ * instead of with {@code percentile_cont} over the whole table.
+ * Sketches are updated from each committed {@link DashboardChangedEvent} and can be rebuilt from the
+ * live table plus archived segments. A rebuild reads a pinned snapshot (see {@link DashboardCache#readSnapshot})
+ * and replays only the deltas announced after it, so concurrent writes are counted exactly once.
+ * Until a rebuild has succeeded, reads run one themselves.
+ * <p>
+ * Events only carry this instance's commits, so writes made through other instances and changes
+ * made directly in the database are picked up by a full rebuild every {@code stats.sketch.rebuild-interval}.
+ */
+@Slf4j
+@Service
+public class SpendDistributionService {
+
+    private static final double P50 = 0.50;
+    private static final double P90 = 0.90;
+    private static final double P99 = 0.99;
+
+    private final ExpenseRepository expenseRepository;
+    private final SegmentArchiveService segmentArchiveService;
+    private final DashboardCache dashboardCache;
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "spend-sketch-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Object rebuildLock = new Object();
+    private volatile Map<CategoryMonth, SpendSketch> sketches = new ConcurrentHashMap<>();
+    private volatile boolean built;
+    // Deltas that arrive while a rebuild is reading, replayed onto the new sketches before the swap
+    private List<DashboardChangedEvent> changesDuringRebuild;
+
+    public SpendDistributionService(ExpenseRepository expenseRepository,
+                                    SegmentArchiveService segmentArchiveService,
+                                    DashboardCache dashboardCache,
+                                    @Value("${stats.sketch.rebuild-interval:10m}") Duration rebuildInterval) {
+        this.expenseRepository = expenseRepository;
+        this.segmentArchiveService = segmentArchiveService;
+        this.dashboardCache = dashboardCache;
+        long intervalMs = rebuildInterval.toMillis();
+        if (intervalMs > 0) {
+            rebuilder.scheduleWithFixedDelay(this::refresh, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Returns p50/p90/p99 per category and month, optionally filtered. Null filters match everything;
+     * the category is matched case-insensitively.
+     */
+    public List<CategoryPercentileResponse> getPercentiles(Integer year, Integer month, String category) {
+        return loadedSketches().entrySet().stream()
+                .filter(entry -> year == null || entry.getKey().month().getYear() == year)
+                .filter(entry -> month == null || entry.getKey().month().getMonthValue() == month)
+                .filter(entry -> category == null || entry.getKey().category().equalsIgnoreCase(category))
+                .map(entry -> toResponse(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingInt(CategoryPercentileResponse::getYear).reversed()
+                        .thenComparing(Comparator.comparingInt(CategoryPercentileResponse::getMonth).reversed())
+                        .thenComparing(CategoryPercentileResponse::getCategory))
+                .toList();
+    }
+
+    @EventListener
+    public synchronized void onDashboardChanged(DashboardChangedEvent event) {
+        if (event.getSpendSketches().isEmpty()) return;
+
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(event);
+        }
+        merge(sketches, event);
+    }
+
+    /**
+     * Rebuilds every sketch by streaming the live table and decoding the archived segments, then swaps them in.
+     */
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            long started = System.currentTimeMillis();
+            synchronized (this) {
+                changesDuringRebuild = new ArrayList<>();
+            }
+            try {
+                Map<CategoryMonth, SpendSketch> rebuilt = new ConcurrentHashMap<>();
+                long version = dashboardCache.readSnapshot(DashboardView.MONTHLY_TOTALS, pinned -> {
+                    try (Stream<CategoryAmount> rows = expenseRepository.streamCategoryAmounts()) {
+                        rows.forEach(row -> rebuilt.computeIfAbsent(CategoryMonth.of(row.category(), row.date()), k -> new SpendSketch())
+                                .add(row.amount()));
+                    }
+                    // Same snapshot as the rows above, so a month sealed meanwhile is read from exactly one side
+                    for (ExpenseSegment segment : segmentArchiveService.current().segments()) {
+                        for (Expense expense : segment.readRows()) {
+                            rebuilt.computeIfAbsent(CategoryMonth.of(expense.getCategory(), expense.getDate()), k -> new SpendSketch())
+                                    .add(expense.getAmount());
+                        }
+                    }
+                    return pinned;
+                });
+
+                synchronized (this) {
+                    // Every write that touched a sketch bumped MONTHLY_TOTALS; those up to the pinned version are already read
+                    changesDuringRebuild.stream()
+                            .filter(change -> change.getVersions().getOrDefault(DashboardView.MONTHLY_TOTALS, 0L) > version)
+                            .forEach(change -> merge(rebuilt, change));
+                    sketches = rebuilt;
+                    built = true;
+                }
+                log.info("Rebuilt {} spend sketches in {} ms", rebuilt.size(), System.currentTimeMillis() - started);
+            } finally {
+                synchronized (this) {
+                    changesDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    private void refresh() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Spend sketch rebuild failed; keeping the current sketches: {}", e.getMessage());
+        }
+    }
+
+    private Map<CategoryMonth, SpendSketch> loadedSketches() {
+        if (!built) {
+            synchronized (rebuildLock) {
+                if (!built) {
+                    rebuild();
+                }
+            }
+        }
+        return sketches;
+    }
+
+    private static void merge(Map<CategoryMonth, SpendSketch> target, DashboardChangedEvent change) {
+        change.getSpendSketches().forEach((key, delta) ->
+                target.computeIfAbsent(key, k -> new SpendSketch()).merge(delta));
+    }
+
+    private CategoryPercentileResponse toResponse(CategoryMonth key, SpendSketch sketch) {
+        return CategoryPercentileResponse.builder()
+                .year(key.month().getYear())
+                .month(key.month().getMonthValue())
+                .category(key.category())
+                .count(sketch.getCount())
+                .p50(sketch.quantile(P50))
+                .p90(sketch.quantile(P90))
+                .p99(sketch.quantile(P99))
+                .build();
+    }
+}
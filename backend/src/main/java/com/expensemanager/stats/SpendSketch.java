@@ -0,0 +1,93 @@
+package com.expensemanager.stats;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+/**
+ * Mergeable quantile sketch over positive amounts with 1% relative accuracy.
+ * Amounts (in cents) fall into logarithmically sized buckets: bucket {@code i} covers
+ * {@code (GAMMA^(i-1), GAMMA^i]}, so any quantile is reported within 1% of the true value.
+ * Memory and query time depend only on the value range, never on the number of amounts added,
+ * and two sketches merge by adding bucket counts.
+ */
+public class SpendSketch {
+
+    private static final double RELATIVE_ACCURACY = 0.01;
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    private long[] counts = new long[0];
+    private int offset;
+    private long count;
+
+    public synchronized void add(BigDecimal amount) {
+        addToBucket(bucketOf(amount), 1);
+    }
+
+    public void merge(SpendSketch other) {
+        long[] otherCounts;
+        int otherOffset;
+        synchronized (other) {
+            otherCounts = other.counts.clone();
+            otherOffset = other.offset;
+        }
+        synchronized (this) {
+            for (int i = 0; i < otherCounts.length; i++) {
+                if (otherCounts[i] > 0) {
+                    addToBucket(otherOffset + i, otherCounts[i]);
+                }
+            }
+        }
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the amount at quantile {@code q} (0..1), or null if the sketch is empty.
+     */
+    public synchronized BigDecimal quantile(double q) {
+        if (count == 0) return null;
+
+        long rank = (long) Math.floor(q * (count - 1));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                return toAmount(offset + i);
+            }
+        }
+        return toAmount(offset + counts.length - 1);
+    }
+
+    private static int bucketOf(BigDecimal amount) {
+        double cents = Math.max(1.0, amount.movePointRight(2).doubleValue());
+        return (int) Math.ceil(Math.log(cents) / LOG_GAMMA);
+    }
+
+    /**
+     * The value with the smallest relative distance to both ends of the bucket.
+     */
+    private static BigDecimal toAmount(int bucket) {
+        double cents = 2 * Math.pow(GAMMA, bucket) / (GAMMA + 1);
+        return BigDecimal.valueOf(cents).movePointLeft(2).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private void addToBucket(int bucket, long n) {
+        if (counts.length == 0) {
+            counts = new long[1];
+            offset = bucket;
+        } else if (bucket < offset) {
+            long[] grown = new long[counts.length + (offset - bucket)];
+            System.arraycopy(counts, 0, grown, offset - bucket, counts.length);
+            counts = grown;
+            offset = bucket;
+        } else if (bucket >= offset + counts.length) {
+            counts = Arrays.copyOf(counts, bucket - offset + 1);
+        }
+        counts[bucket - offset] += n;
+        count += n;
+    }
+}
@@ -1,5 +1,9 @@
 package com.expensemanager.strategy;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Strategy interface for expense categorization.
  * Implementations can vary from rule-based to AI-based strategies.
@@ -14,4 +18,25 @@ public interface CategorizationStrategy {
      * @return the category string; must never return null
      */
     String categorize(String vendorName);
+
+    /**
+     * Prepares any in-memory state ahead of the first lookup. Called off the request path after startup.
+     */
+    default void warmUp() {
+    }
+
+    /**
+     * Categorizes many vendor names at once, e.g. all vendors of a CSV chunk.
+     * Implementations backed by a remote store should override this to avoid one lookup per name.
+     *
+     * @param vendorNames the vendor names to categorize; duplicates are allowed
+     * @return a map from each given vendor name to its category; never contains null values
+     */
+    default Map<String, String> categorizeAll(Collection<String> vendorNames) {
+        Map<String, String> categories = new LinkedHashMap<>();
+        for (String vendorName : vendorNames) {
+            categories.computeIfAbsent(vendorName, this::categorize);
+        }
+        return categories;
+    }
 }
@@ -0,0 +1,21 @@
+package com.expensemanager.strategy;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published when a vendor-category mapping is created, updated or removed,
+ * so in-memory categorization indexes can apply the change incrementally.
+ */
+@Getter
+@RequiredArgsConstructor
+public class VendorMappingChangedEvent {
+
+    private final String vendorName;
+    /** The new category, or null if the mapping was removed. */
+    private final String category;
+
+    public boolean isRemoval() {
+        return category == null;
+    }
+}
@@ -0,0 +1,154 @@
+package com.expensemanager.strategy.impl;
+
+import com.expensemanager.entity.VendorCategoryMapping;
+import com.expensemanager.repository.VendorCategoryMappingRepository;
+import com.expensemanager.strategy.CategorizationStrategy;
+import com.expensemanager.strategy.VendorMappingChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Categorization strategy backed by an in-memory {@link VendorNameIndex} over the vendor-category mappings.
+ * Besides exact (case-insensitive) names it resolves decorated and misspelled vendor names such as
+ * "AMAZON PAY INDIA" or "Uber *Trip" without a database round trip.
+ * Local changes arrive as {@link VendorMappingChangedEvent}s; changes made by other instances or directly
+ * in the database are picked up by a full rebuild every {@code categorization.index.refresh-interval}.
+ * A rebuild fills a new index and swaps it in, so lookups never see a partial one.
+ * Defaults to "Others" if nothing matches. Enabled with {@code categorization.strategy=indexed}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "categorization.strategy", havingValue = "indexed")
+public class IndexedCategorizationStrategy implements CategorizationStrategy {
+
+    private static final String DEFAULT_CATEGORY = "Others";
+
+    private final VendorCategoryMappingRepository vendorCategoryMappingRepository;
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "vendor-index-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Object rebuildLock = new Object();
+    private volatile VendorNameIndex index;
+    // Changes that arrive while a rebuild is reading the database, replayed onto the new index before the swap
+    private List<VendorMappingChangedEvent> changesDuringRebuild;
+
+    public IndexedCategorizationStrategy(VendorCategoryMappingRepository vendorCategoryMappingRepository,
+                                         @Value("${categorization.index.refresh-interval:5m}") Duration refreshInterval) {
+        this.vendorCategoryMappingRepository = vendorCategoryMappingRepository;
+        long intervalMs = refreshInterval.toMillis();
+        if (intervalMs > 0) {
+            refresher.scheduleWithFixedDelay(this::refresh, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public String categorize(String vendorName) {
+        if (vendorName == null || vendorName.isBlank()) {
+            log.warn("Vendor name is blank; defaulting to category '{}'", DEFAULT_CATEGORY);
+            return DEFAULT_CATEGORY;
+        }
+
+        return loadedIndex().lookup(vendorName)
+                .map(category -> {
+                    log.debug("Vendor '{}' mapped to category '{}'", vendorName, category);
+                    return category;
+                })
+                .orElseGet(() -> {
+                    log.debug("No mapping found for vendor '{}'; defaulting to '{}'", vendorName, DEFAULT_CATEGORY);
+                    return DEFAULT_CATEGORY;
+                });
+    }
+
+    /**
+     * Builds a new index from the database and swaps it in.
+     */
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                changesDuringRebuild = new ArrayList<>();
+            }
+            VendorNameIndex rebuilt = new VendorNameIndex();
+            try {
+                for (VendorCategoryMapping mapping : vendorCategoryMappingRepository.findAll()) {
+                    rebuilt.put(mapping.getVendorName(), mapping.getCategory());
+                }
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    changesDuringRebuild = null;
+                }
+                throw e;
+            }
+
+            synchronized (this) {
+                // Replaying changes the read already saw is harmless: applied in order they converge on the latest state
+                changesDuringRebuild.forEach(change -> apply(rebuilt, change));
+                changesDuringRebuild = null;
+                index = rebuilt;
+            }
+            log.info("Vendor index built with {} entries", rebuilt.size());
+        }
+    }
+
+    @Override
+    public void warmUp() {
+        loadedIndex();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onMappingChanged(VendorMappingChangedEvent event) {
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(event);
+        }
+        // Before the first load the change will be picked up by the full build anyway
+        if (index != null) {
+            apply(index, event);
+        }
+        log.debug("Vendor index updated for '{}'", event.getVendorName());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private void refresh() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Vendor index refresh failed; keeping the current index: {}", e.getMessage());
+        }
+    }
+
+    private VendorNameIndex loadedIndex() {
+        if (index == null) {
+            synchronized (rebuildLock) {
+                if (index == null) {
+                    rebuild();
+                }
+            }
+        }
+        return index;
+    }
+
+    private static void apply(VendorNameIndex target, VendorMappingChangedEvent change) {
+        if (change.isRemoval()) {
+            target.remove(change.getVendorName());
+        } else {
+            target.put(change.getVendorName(), change.getCategory());
+        }
+    }
+}
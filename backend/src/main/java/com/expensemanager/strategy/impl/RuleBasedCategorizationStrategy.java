@@ -4,15 +4,24 @@ import com.expensemanager.repository.VendorCategoryMappingRepository;
 import com.expensemanager.strategy.CategorizationStrategy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
 /**
  * Rule-based categorization strategy.
  * Looks up vendor-to-category mappings from the database.
  * Defaults to "Others" if no mapping is found.
+ * The default; also selected with {@code categorization.strategy=rule-based}.
  */
 @Slf4j
 @Component
+@ConditionalOnProperty(name = "categorization.strategy", havingValue = "rule-based", matchIfMissing = true)
 @RequiredArgsConstructor
 public class RuleBasedCategorizationStrategy implements CategorizationStrategy {
 
@@ -38,4 +47,25 @@ public class RuleBasedCategorizationStrategy implements CategorizationStrategy {
                     return DEFAULT_CATEGORY;
                 });
     }
+
+    /**
+     * Resolves all names with a single query instead of one lookup per name.
+     */
+    @Override
+    public Map<String, String> categorizeAll(Collection<String> vendorNames) {
+        Map<String, String> byLowerName = new HashMap<>();
+        vendorCategoryMappingRepository
+                .findByLowerCaseVendorNameIn(vendorNames.stream().map(this::normalize).distinct().toList())
+                .forEach(mapping -> byLowerName.put(normalize(mapping.getVendorName()), mapping.getCategory()));
+
+        Map<String, String> categories = new LinkedHashMap<>();
+        for (String vendorName : vendorNames) {
+            categories.put(vendorName, byLowerName.getOrDefault(normalize(vendorName), DEFAULT_CATEGORY));
+        }
+        return categories;
+    }
+
+    private String normalize(String vendorName) {
+        return vendorName == null ? "" : vendorName.trim().toLowerCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,175 @@
+package com.expensemanager.strategy.impl;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory index of known vendor names supporting exact, prefix and fuzzy lookups.
+ * Names are normalized to lowercase alphanumeric tokens; the "compact" form joins them without spaces,
+ * so "Prime Video", "PrimeVideo" and "PRIME-VIDEO" all resolve to the same entry. An entry keeps every
+ * mapping that normalizes to it, so removing one of them leaves the others in place.
+ * Supports concurrent reads; updates are serialized.
+ */
+class VendorNameIndex {
+
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+    private static final int MIN_CHAR_PREFIX_LENGTH = 4;
+    private static final double MIN_FUZZY_SCORE = 0.5;
+    // Endings that still name the same vendor when glued to it ("Amazonpay", "Swiggyonline"). Any other
+    // ending makes a different name ("Ubereats", "Amazonia"), so a bare character prefix is not a match.
+    private static final Set<String> KNOWN_SUFFIXES = Set.of(
+            "app", "co", "com", "in", "inc", "india", "llc", "ltd", "online", "pay", "pvt", "shop", "store", "stores");
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> trigramPostings = new ConcurrentHashMap<>();
+    private volatile int maxTokens;
+
+    synchronized void put(String vendorName, String category) {
+        List<String> tokens = tokenize(vendorName);
+        if (tokens.isEmpty()) return;
+
+        String compact = String.join("", tokens);
+        Set<String> trigrams = trigrams(compact);
+        Entry existing = entries.get(compact);
+        Map<String, String> sources = existing == null ? new HashMap<>() : new HashMap<>(existing.sources());
+        sources.put(sourceKey(vendorName), category);
+        String primary = existing == null ? sourceKey(vendorName) : existing.primary();
+        entries.put(compact, new Entry(Map.copyOf(sources), primary, trigrams.size()));
+        for (String trigram : trigrams) {
+            trigramPostings.computeIfAbsent(trigram, key -> ConcurrentHashMap.newKeySet()).add(compact);
+        }
+        maxTokens = Math.max(maxTokens, tokens.size());
+    }
+
+    synchronized void remove(String vendorName) {
+        String compact = String.join("", tokenize(vendorName));
+        Entry existing = entries.get(compact);
+        if (existing == null || !existing.sources().containsKey(sourceKey(vendorName))) return;
+
+        Map<String, String> sources = new HashMap<>(existing.sources());
+        sources.remove(sourceKey(vendorName));
+        if (!sources.isEmpty()) {
+            String primary = sources.containsKey(existing.primary()) ? existing.primary() : sources.keySet().iterator().next();
+            entries.put(compact, new Entry(Map.copyOf(sources), primary, existing.trigramCount()));
+            return;
+        }
+
+        entries.remove(compact);
+        for (String trigram : trigrams(compact)) {
+            Set<String> names = trigramPostings.get(trigram);
+            if (names != null) {
+                names.remove(compact);
+            }
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Resolves a vendor name to a category, trying in order: exact match, longest leading-token match
+     * ("AMAZON PAY INDIA" → "Amazon"), leading-character match on the first token when the rest is a known
+     * suffix ("Swiggyonline" → "Swiggy", but not "Ubereats" → "Uber"), and trigram similarity ("Amazn" → "Amazon").
+     */
+    Optional<String> lookup(String vendorName) {
+        List<String> tokens = tokenize(vendorName);
+        if (tokens.isEmpty()) return Optional.empty();
+
+        String compact = String.join("", tokens);
+        Entry exact = entries.get(compact);
+        if (exact != null) return Optional.of(exact.categoryFor(sourceKey(vendorName)));
+
+        for (int k = Math.min(tokens.size() - 1, maxTokens); k >= 1; k--) {
+            Entry entry = entries.get(String.join("", tokens.subList(0, k)));
+            if (entry != null) return Optional.of(entry.category());
+        }
+
+        String first = tokens.get(0);
+        for (int length = first.length() - 1; length >= MIN_CHAR_PREFIX_LENGTH; length--) {
+            if (!KNOWN_SUFFIXES.contains(first.substring(length))) continue;
+            Entry entry = entries.get(first.substring(0, length));
+            if (entry != null) return Optional.of(entry.category());
+        }
+
+        Optional<String> fuzzy = fuzzyLookup(compact);
+        if (fuzzy.isEmpty() && tokens.size() > 1) {
+            fuzzy = fuzzyLookup(first);
+        }
+        return fuzzy;
+    }
+
+    /**
+     * Scores candidates sharing at least one trigram by Dice coefficient and returns the best one above the threshold.
+     * Candidates that are a prefix of the name are skipped: whether an extended name matches was already
+     * decided by the leading-character rule, and "Shellys" would otherwise score high against "Shell".
+     */
+    private Optional<String> fuzzyLookup(String compact) {
+        Set<String> queryTrigrams = trigrams(compact);
+        Map<String, Integer> shared = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            Set<String> names = trigramPostings.get(trigram);
+            if (names == null) continue;
+            for (String name : names) {
+                shared.merge(name, 1, Integer::sum);
+            }
+        }
+
+        String best = null;
+        double bestScore = MIN_FUZZY_SCORE;
+        for (Map.Entry<String, Integer> candidate : shared.entrySet()) {
+            Entry entry = entries.get(candidate.getKey());
+            if (entry == null || compact.startsWith(candidate.getKey())) continue;
+            double score = 2.0 * candidate.getValue() / (queryTrigrams.size() + entry.trigramCount());
+            if (score >= bestScore) {
+                best = entry.category();
+                bestScore = score;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    static List<String> tokenize(String vendorName) {
+        if (vendorName == null) return List.of();
+        String normalized = vendorName.toLowerCase(Locale.ROOT).replace("'", "");
+        return NON_ALPHANUMERIC.splitAsStream(normalized)
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    private static String sourceKey(String vendorName) {
+        return vendorName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> trigrams(String compact) {
+        String padded = "$" + compact + "$";
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    /**
+     * All mappings (lowercased name to category) that normalize to one compact key. The primary mapping,
+     * the first one added (or a remaining one once it is removed), answers lookups that do not name
+     * one of the sources exactly.
+     */
+    private record Entry(Map<String, String> sources, String primary, int trigramCount) {
+
+        String category() {
+            return sources.get(primary);
+        }
+
+        String categoryFor(String sourceKey) {
+            return sources.getOrDefault(sourceKey, category());
+        }
+    }
+}
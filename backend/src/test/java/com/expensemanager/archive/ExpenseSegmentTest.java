@@ -0,0 +1,96 @@
+package com.expensemanager.archive;
+
+import com.expensemanager.entity.Expense;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpenseSegmentTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2024, 3);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsRowsAndFooterTotals() throws IOException {
+        UUID importId = UUID.randomUUID();
+        List<Expense> rows = List.of(
+                expense("2024-03-01", "12.50", "Starbucks", "Food", "Morning coffee", false, importId),
+                expense("2024-03-15", "999.99", "Amazon", "Shopping", null, true, null),
+                expense("2024-03-31", "7.25", "Starbucks", "Food", null, false, importId));
+        Path target = dir.resolve("segment.seg");
+
+        int written = ExpenseSegmentWriter.write(target, MONTH, rows.stream());
+        ExpenseSegment segment = ExpenseSegment.open(target);
+
+        assertThat(written).isEqualTo(3);
+        assertThat(segment.getMonth()).isEqualTo(MONTH);
+        assertThat(segment.getRowCount()).isEqualTo(3);
+        assertThat(segment.getAnomalyCount()).isEqualTo(1);
+        assertThat(segment.getTotal()).isEqualByComparingTo("1019.74");
+        assertThat(segment.getFileSize()).isEqualTo(Files.size(target));
+
+        assertThat(segment.getCategoryTotals().get("Food").getCount()).isEqualTo(2);
+        assertThat(segment.getCategoryTotals().get("Food").getSum()).isEqualByComparingTo("19.75");
+        assertThat(segment.getCategoryTotals().get("Shopping").getCount()).isEqualTo(1);
+        assertThat(segment.getVendorTotals().get("Starbucks")).isEqualByComparingTo("19.75");
+        assertThat(segment.getVendorTotals().get("Amazon")).isEqualByComparingTo("999.99");
+
+        List<Expense> read = segment.readRows();
+        assertThat(read).hasSize(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Expense expected = rows.get(i);
+            Expense actual = read.get(i);
+            assertThat(actual.getId()).isEqualTo(expected.getId());
+            assertThat(actual.getDate()).isEqualTo(expected.getDate());
+            assertThat(actual.getAmount()).isEqualByComparingTo(expected.getAmount());
+            assertThat(actual.getVendorName()).isEqualTo(expected.getVendorName());
+            assertThat(actual.getCategory()).isEqualTo(expected.getCategory());
+            assertThat(actual.getDescription()).isEqualTo(expected.getDescription());
+            assertThat(actual.isAnomaly()).isEqualTo(expected.isAnomaly());
+            assertThat(actual.getCreatedAt()).isEqualTo(expected.getCreatedAt());
+            assertThat(actual.getImportId()).isEqualTo(expected.getImportId());
+        }
+
+        assertThat(segment.getAnomalies()).extracting(Expense::getId).containsExactly(rows.get(1).getId());
+    }
+
+    @Test
+    void leavesNoTemporaryFilesBehind() throws IOException {
+        Path target = dir.resolve("segment.seg");
+
+        ExpenseSegmentWriter.write(target, MONTH,
+                List.of(expense("2024-03-02", "5.00", "Shell", "Fuel", null, false, null)).stream());
+
+        try (var files = Files.list(dir)) {
+            assertThat(files).containsExactly(target);
+        }
+    }
+
+    private static Expense expense(String date, String amount, String vendor, String category,
+                                   String description, boolean anomaly, UUID importId) {
+        return Expense.builder()
+                .id(UUID.randomUUID())
+                .date(LocalDate.parse(date))
+                .amount(new BigDecimal(amount))
+                .vendorName(vendor)
+                .category(category)
+                .description(description)
+                .isAnomaly(anomaly)
+                .importId(importId)
+                .createdAt(LocalDateTime.of(2024, 4, 1, 9, 30, 15, 123_456_000))
+                .build();
+    }
+}
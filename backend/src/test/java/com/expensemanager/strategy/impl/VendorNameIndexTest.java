@@ -0,0 +1,35 @@
+package com.expensemanager.strategy.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VendorNameIndexTest {
+
+    private VendorNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new VendorNameIndex();
+        index.put("Amazon", "Shopping");
+        index.put("Swiggy", "Food & Dining");
+        index.put("Uber", "Transport");
+        index.put("Shell", "Fuel");
+    }
+
+    @Test
+    void matchesDecoratedAndMisspelledNames() {
+        assertThat(index.lookup("AMAZON PAY INDIA")).contains("Shopping");
+        assertThat(index.lookup("Uber *Trip")).contains("Transport");
+        assertThat(index.lookup("Swiggyonline")).contains("Food & Dining");
+        assertThat(index.lookup("Amazn")).contains("Shopping");
+    }
+
+    @Test
+    void doesNotMatchOtherNamesThatStartWithAVendor() {
+        assertThat(index.lookup("Shelly's Cafe")).isEmpty();
+        assertThat(index.lookup("Ubereats")).isEmpty();
+        assertThat(index.lookup("Amazonia Restaurant")).isEmpty();
+    }
+}
@@ -3,9 +3,12 @@ import {
   AnomalyCount,
   CategoryTotal,
   CsvUploadResponse,
+  DashboardDelta,
   Expense,
   ExpenseRequest,
+  PageResponse,
   TopVendor,
+  Versioned,
 } from '../types';
 
 export const addExpense = async (request: ExpenseRequest): Promise<Expense> => {
@@ -18,26 +21,55 @@ export const uploadCsv = async (file: File): Promise<CsvUploadResponse> => {
   formData.append('file', file);
   const response = await apiClient.post<CsvUploadResponse>('/expenses/upload-csv', formData, {
     headers: { 'Content-Type': 'multipart/form-data' },
+    params: { mode: 'SUMMARY' },
   });
   return response.data;
 };
 
-export const getMonthlyTotals = async (): Promise<CategoryTotal[]> => {
-  const response = await apiClient.get<CategoryTotal[]>('/expenses/dashboard/monthly-totals');
+export const getImportedExpenses = async (
+  importId: string,
+  page = 0,
+  size = 50
+): Promise<PageResponse<Expense>> => {
+  const response = await apiClient.get<PageResponse<Expense>>(`/expenses/imports/${importId}/expenses`, {
+    params: { page, size },
+  });
   return response.data;
 };
 
-export const getTopVendors = async (): Promise<TopVendor[]> => {
-  const response = await apiClient.get<TopVendor[]>('/expenses/dashboard/top-vendors');
-  return response.data;
+const getDashboardView = async <T>(path: string): Promise<Versioned<T>> => {
+  const response = await apiClient.get<T>(`/expenses/dashboard/${path}`);
+  return { data: response.data, version: Number(response.headers['x-dashboard-version'] ?? -1) };
 };
 
-export const getAnomalies = async (): Promise<Expense[]> => {
-  const response = await apiClient.get<Expense[]>('/expenses/dashboard/anomalies');
-  return response.data;
-};
+export const getMonthlyTotals = (): Promise<Versioned<CategoryTotal[]>> =>
+  getDashboardView<CategoryTotal[]>('monthly-totals');
 
-export const getAnomalyCount = async (): Promise<AnomalyCount> => {
-  const response = await apiClient.get<AnomalyCount>('/expenses/dashboard/anomalies/count');
-  return response.data;
+export const getTopVendors = (): Promise<Versioned<TopVendor[]>> => getDashboardView<TopVendor[]>('top-vendors');
+
+export const getAnomalies = (): Promise<Versioned<Expense[]>> => getDashboardView<Expense[]>('anomalies');
+
+export const getAnomalyCount = (): Promise<Versioned<AnomalyCount>> =>
+  getDashboardView<AnomalyCount>('anomalies/count');
+
+export const subscribeToDashboard = (
+  onDelta: (delta: DashboardDelta) => void,
+  onReconnect: () => void
+): (() => void) => {
+  const source = new EventSource(`${apiClient.defaults.baseURL}/expenses/dashboard/stream`);
+  let dropped = false;
+  source.addEventListener('dashboard-delta', (event) => {
+    onDelta(JSON.parse((event as MessageEvent).data));
+  });
+  source.onerror = () => {
+    dropped = true;
+  };
+  source.onopen = () => {
+    // Deltas sent while disconnected are lost, so resync once the stream is back.
+    if (dropped) {
+      dropped = false;
+      onReconnect();
+    }
+  };
+  return () => source.close();
 };
@@ -1,6 +1,12 @@
-import { useCallback, useEffect, useState } from 'react';
-import { getAnomalies, getAnomalyCount, getMonthlyTotals, getTopVendors } from '../api/expenseApi';
-import { CategoryTotal, Expense, TopVendor } from '../types';
+import { useCallback, useEffect, useRef, useState } from 'react';
+import {
+  getAnomalies,
+  getAnomalyCount,
+  getMonthlyTotals,
+  getTopVendors,
+  subscribeToDashboard,
+} from '../api/expenseApi';
+import { CategoryTotal, DashboardDelta, DashboardView, Expense, TopVendor } from '../types';
 
 interface DashboardData {
   monthlyTotals: CategoryTotal[];
@@ -12,6 +18,32 @@ interface DashboardData {
   refetch: () => void;
 }
 
+// Same ordering as the backend query: newest month first, then category name.
+const compareTotals = (a: CategoryTotal, b: CategoryTotal): number =>
+  b.year - a.year || b.month - a.month || a.category.localeCompare(b.category);
+
+const mergeTotals = (current: CategoryTotal[], deltas: CategoryTotal[]): CategoryTotal[] => {
+  const merged = current.map((item) => ({ ...item }));
+  deltas.forEach((delta) => {
+    const existing = merged.find(
+      (item) => item.year === delta.year && item.month === delta.month && item.category === delta.category
+    );
+    if (existing) {
+      existing.total += delta.total;
+    } else {
+      merged.push({ ...delta });
+    }
+  });
+  return merged.sort(compareTotals);
+};
+
+const mergeAnomalies = (current: Expense[], added: Expense[]): Expense[] =>
+  [...added, ...current].sort((a, b) => b.date.localeCompare(a.date));
+
+type ViewVersions = Record<DashboardView, number>;
+
+const UNLOADED: ViewVersions = { MONTHLY_TOTALS: -1, TOP_VENDORS: -1, ANOMALIES: -1, ANOMALY_COUNT: -1 };
+
 export const useDashboard = (): DashboardData => {
   const [monthlyTotals, setMonthlyTotals] = useState<CategoryTotal[]>([]);
   const [topVendors, setTopVendors] = useState<TopVendor[]>([]);
@@ -20,9 +52,43 @@ export const useDashboard = (): DashboardData => {
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
 
+  // Version of each view's last snapshot: deltas at or below it are already contained in the snapshot.
+  const versions = useRef<ViewVersions>(UNLOADED);
+  // Deltas that arrive while a fetch is in flight are held back and replayed against the new snapshot.
+  const buffered = useRef<DashboardDelta[] | null>(null);
+
+  const applyDelta = useCallback((delta: DashboardDelta): boolean => {
+    if (buffered.current) {
+      buffered.current.push(delta);
+      return false;
+    }
+    const isNew = (view: DashboardView) => (delta.versions[view] ?? -1) > versions.current[view];
+
+    if (isNew('MONTHLY_TOTALS') && delta.monthlyTotalDeltas.length > 0) {
+      setMonthlyTotals((current) => mergeTotals(current, delta.monthlyTotalDeltas));
+    }
+    // The ranking is a full replacement read after the write, carrying the version of that read; keep the newest.
+    if (isNew('TOP_VENDORS') && delta.topVendors) {
+      versions.current = { ...versions.current, TOP_VENDORS: delta.versions.TOP_VENDORS as number };
+      setTopVendors(delta.topVendors);
+    }
+    if (isNew('ANOMALY_COUNT')) {
+      setAnomalyCount((current) => current + delta.anomalyCountDelta);
+    }
+    if (isNew('ANOMALIES')) {
+      // Large imports only carry the first anomalies; the caller refetches instead.
+      if (delta.anomaliesTruncated) {
+        return true;
+      }
+      setAnomalies((current) => mergeAnomalies(current, delta.newAnomalies));
+    }
+    return false;
+  }, []);
+
   const fetchAll = useCallback(async () => {
     setLoading(true);
     setError(null);
+    buffered.current = [];
     try {
       const [totals, vendors, anom, count] = await Promise.all([
         getMonthlyTotals(),
@@ -30,20 +96,43 @@ export const useDashboard = (): DashboardData => {
         getAnomalies(),
         getAnomalyCount(),
       ]);
-      setMonthlyTotals(totals);
-      setTopVendors(vendors);
-      setAnomalies(anom);
-      setAnomalyCount(count.count);
+      versions.current = {
+        MONTHLY_TOTALS: totals.version,
+        TOP_VENDORS: vendors.version,
+        ANOMALIES: anom.version,
+        ANOMALY_COUNT: count.version,
+      };
+      setMonthlyTotals(totals.data);
+      setTopVendors(vendors.data);
+      setAnomalies(anom.data);
+      setAnomalyCount(count.data.count);
+
+      const missed = buffered.current;
+      buffered.current = null;
+      let refetch = false;
+      missed.forEach((delta) => {
+        refetch = applyDelta(delta) || refetch;
+      });
+      if (refetch) {
+        fetchAll();
+      }
     } catch (err: any) {
+      buffered.current = null;
       setError(err.response?.data?.message || 'Failed to load dashboard data.');
     } finally {
       setLoading(false);
     }
-  }, []);
+  }, [applyDelta]);
 
   useEffect(() => {
+    const unsubscribe = subscribeToDashboard((delta) => {
+      if (applyDelta(delta)) {
+        fetchAll();
+      }
+    }, fetchAll);
     fetchAll();
-  }, [fetchAll]);
+    return unsubscribe;
+  }, [fetchAll, applyDelta]);
 
   return { monthlyTotals, topVendors, anomalies, anomalyCount, loading, error, refetch: fetchAll };
 };
@@ -1,11 +1,12 @@
 import React, { useRef, useState } from 'react';
-import { uploadCsv } from '../api/expenseApi';
-import { CsvUploadResponse } from '../types';
+import { getImportedExpenses, uploadCsv } from '../api/expenseApi';
+import { CsvUploadResponse, Expense, PageResponse } from '../types';
 
 const CsvUploadPage: React.FC = () => {
   const [file, setFile] = useState<File | null>(null);
   const [loading, setLoading] = useState(false);
   const [result, setResult] = useState<CsvUploadResponse | null>(null);
+  const [savedPage, setSavedPage] = useState<PageResponse<Expense> | null>(null);
   const [error, setError] = useState<string | null>(null);
   const inputRef = useRef<HTMLInputElement>(null);
 
@@ -20,6 +21,7 @@ const CsvUploadPage: React.FC = () => {
       setFile(selected);
       setError(null);
       setResult(null);
+      setSavedPage(null);
     }
   };
 
@@ -31,10 +33,15 @@ const CsvUploadPage: React.FC = () => {
     setLoading(true);
     setError(null);
     setResult(null);
+    setSavedPage(null);
 
     try {
       const response = await uploadCsv(file);
       setResult(response);
+      if (response.successCount > 0) {
+        // The upload only returns a summary; show the first page of what was saved.
+        setSavedPage(await getImportedExpenses(response.importId));
+      }
       setFile(null);
       if (inputRef.current) inputRef.current.value = '';
     } catch (err: any) {
@@ -99,7 +106,11 @@ const CsvUploadPage: React.FC = () => {
 
           {result.errors.length > 0 && (
             <div className="error-list">
-              <h3>Errors</h3>
+              <h3>
+                Errors
+                {result.errors.length < result.failureCount &&
+                  ` (showing first ${result.errors.length} of ${result.failureCount})`}
+              </h3>
               <ul>
                 {result.errors.map((err, i) => (
                   <li key={i} className="error-item">{err}</li>
@@ -108,9 +119,13 @@ const CsvUploadPage: React.FC = () => {
             </div>
           )}
 
-          {result.savedExpenses.length > 0 && (
+          {savedPage && savedPage.content.length > 0 && (
             <div className="saved-expenses">
-              <h3>Saved Expenses ({result.savedExpenses.length})</h3>
+              <h3>
+                Saved Expenses ({savedPage.totalElements})
+                {savedPage.content.length < savedPage.totalElements &&
+                  ` — showing first ${savedPage.content.length}`}
+              </h3>
               <table className="expense-table">
                 <thead>
                   <tr>
@@ -122,7 +137,7 @@ const CsvUploadPage: React.FC = () => {
                   </tr>
                 </thead>
                 <tbody>
-                  {result.savedExpenses.map((exp) => (
+                  {savedPage.content.map((exp) => (
                     <tr key={exp.id} className={exp.isAnomaly ? 'row-anomaly' : ''}>
                       <td>{exp.date}</td>
                       <td>{exp.vendorName}</td>
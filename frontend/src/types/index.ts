@@ -29,11 +29,22 @@ export interface TopVendor {
 }
 
 export interface CsvUploadResponse {
+  importId: string;
   totalRows: number;
   successCount: number;
   failureCount: number;
   errors: string[];
-  savedExpenses: Expense[];
+  savedExpenses?: Expense[];
+  expensesUrl: string;
+  errorsUrl: string;
+}
+
+export interface PageResponse<T> {
+  content: T[];
+  page: number;
+  size: number;
+  totalElements: number;
+  totalPages: number;
 }
 
 export interface ErrorResponse {
@@ -46,3 +57,20 @@ export interface ErrorResponse {
 export interface AnomalyCount {
   count: number;
 }
+
+export type DashboardView = 'MONTHLY_TOTALS' | 'TOP_VENDORS' | 'ANOMALIES' | 'ANOMALY_COUNT';
+
+// A dashboard view together with the version it reflects (X-Dashboard-Version).
+export interface Versioned<T> {
+  data: T;
+  version: number;
+}
+
+export interface DashboardDelta {
+  monthlyTotalDeltas: CategoryTotal[];
+  newAnomalies: Expense[];
+  anomalyCountDelta: number;
+  anomaliesTruncated: boolean;
+  topVendors: TopVendor[] | null;
+  versions: Partial<Record<DashboardView, number>>;
+}